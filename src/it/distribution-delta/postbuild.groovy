@@ -0,0 +1,66 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.file.Files
+import java.util.zip.ZipFile
+
+File target = new File(basedir, "target")
+File current = new File(target, "current.zip")
+File rebuilt = new File(target, "rebuilt.zip")
+assert new File(target, "delta.zip").isFile()
+assert rebuilt.isFile()
+
+// name, method, dos time and date, crc, size and external attributes of the central directory entries
+def centralDirectory = { File file ->
+    ByteBuffer zip = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN)
+    int end = zip.limit() - 22
+    while (zip.getInt(end) != 0x06054b50) {
+        end--
+    }
+    int offset = zip.getInt(end + 16)
+    def entries = []
+    for (int i = 0; i < (zip.getShort(end + 10) & 0xffff); i++) {
+        assert zip.getInt(offset) == 0x02014b50
+        int nameLength = zip.getShort(offset + 28) & 0xffff
+        byte[] name = new byte[nameLength]
+        zip.position(offset + 46)
+        zip.get(name)
+        entries << [new String(name, "UTF-8"), zip.getShort(offset + 10), zip.getInt(offset + 12),
+            zip.getInt(offset + 16), zip.getInt(offset + 24), zip.getInt(offset + 38)]
+        offset += 46 + nameLength + (zip.getShort(offset + 30) & 0xffff) + (zip.getShort(offset + 32) & 0xffff)
+    }
+    return entries
+}
+
+def expected = centralDirectory(current)
+assert centralDirectory(rebuilt) == expected
+assert expected.find { it[0] == "glassfish7/bin/asadmin" }[5] >>> 16 == 0100755
+
+new ZipFile(current).withCloseable { original ->
+    new ZipFile(rebuilt).withCloseable { zip ->
+        original.entries().each { entry ->
+            assert zip.getInputStream(zip.getEntry(entry.name)).bytes == original.getInputStream(entry).bytes
+        }
+    }
+}
+
+String log = new File(basedir, "build.log").text
+// the removed jar and its directory are removed, the changed jar is patched, both goals report the same
+assert log.count(": 6 kept, 1 added, 1 patched, 2 removed entries") == 2
+assert log.contains("Created " + rebuilt)
+
+true
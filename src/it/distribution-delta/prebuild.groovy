@@ -0,0 +1,84 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.nio.file.Files
+import java.nio.file.attribute.PosixFilePermissions
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+// 2026-01-01T00:00:00Z
+long time = 1767225600000L
+
+def jar = { File file, Map<String, String> entries ->
+    file.parentFile.mkdirs()
+    new JarOutputStream(new FileOutputStream(file)).withCloseable { output ->
+        entries.each { name, content ->
+            JarEntry entry = new JarEntry(name)
+            entry.time = time
+            output.putNextEntry(entry)
+            output.write(content.getBytes("UTF-8"))
+            output.closeEntry()
+        }
+    }
+}
+
+// big enough that a patch of one changed class is smaller than the whole jar
+def classes = { String changed ->
+    Random random = new Random(42)
+    Map<String, String> entries = [:]
+    for (int i = 0; i < 40; i++) {
+        StringBuilder content = new StringBuilder()
+        for (int j = 0; j < 2000; j++) {
+            content.append(Integer.toHexString(random.nextInt()))
+        }
+        entries["org/glassfish/patched/Class" + i + ".class"] = content.toString()
+    }
+    entries["org/glassfish/patched/Class7.class"] = changed
+    return entries
+}
+
+def stage = { String name, Map<String, Object> files ->
+    File root = new File(basedir, "target/" + name)
+    files.each { path, content ->
+        File file = new File(root, path)
+        if (content instanceof Map) {
+            jar(file, content)
+        } else {
+            file.parentFile.mkdirs()
+            file.text = content
+        }
+    }
+    File asadmin = new File(root, "glassfish7/bin/asadmin")
+    try {
+        Files.setPosixFilePermissions(asadmin.toPath(), PosixFilePermissions.fromString("rwxr-xr-x"))
+    } catch (UnsupportedOperationException e) {
+        asadmin.setExecutable(true)
+    }
+}
+
+stage("previous", [
+    "glassfish7/bin/asadmin": "#!/bin/sh\n",
+    "glassfish7/glassfish/lib/removed.jar": ["removed.properties": "removed=true\n"],
+    "glassfish7/glassfish/modules/kept.jar": ["kept.properties": "kept=true\n"],
+    "glassfish7/glassfish/modules/patched.jar": classes("version 1")
+])
+stage("current", [
+    "glassfish7/bin/asadmin": "#!/bin/sh\n",
+    "glassfish7/glassfish/modules/added.jar": ["added.properties": "added=true\n"],
+    "glassfish7/glassfish/modules/kept.jar": ["kept.properties": "kept=true\n"],
+    "glassfish7/glassfish/modules/patched.jar": classes("version 2")
+])
+
+true
@@ -0,0 +1,34 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.jar.JarFile
+
+File target = new File(basedir, "distribution/target")
+File lib = new File(target, "stage/lib.jar")
+assert lib.isFile()
+new JarFile(lib).withCloseable { jar ->
+    assert jar.getEntry("lib-one.properties") != null: "The nearest lib.jar was not staged"
+    assert jar.getEntry("lib-two.properties") == null
+}
+
+def report = new File(target, "featuresets-conflicts.txt").readLines()
+assert report.size() == 1
+assert report[0].startsWith("lib.jar: selected org.glassfish.build.glassfishbuild-maven-plugin.its.one:lib:jar:")
+assert report[0].contains(", rejected org.glassfish.build.glassfishbuild-maven-plugin.its.two:lib:jar:")
+
+String log = new File(basedir, "build.log").text
+assert log.contains("Found 1 conflicts, see")
+
+true
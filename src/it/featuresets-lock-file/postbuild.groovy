@@ -0,0 +1,37 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+
+File target = new File(basedir, "distribution/target")
+assert new File(target, "stage/lib-a.jar").isFile()
+
+def lines = new File(target, "featuresets.lock").readLines()
+assert lines[0].startsWith("# featuresets-dependencies lock 2 ")
+assert lines.size() == 2
+def fields = lines[1].split("\t", -1)
+assert fields.length == 9
+assert fields[0] == "org.glassfish.build.glassfishbuild-maven-plugin.its:lib-a:jar:" + fields[0].split(":")[3]
+File locked = new File(fields[7])
+assert locked.isFile()
+assert locked.length() == Long.parseLong(fields[3])
+assert locked.lastModified() == Long.parseLong(fields[4])
+assert fields[6] == "lib-a.jar"
+assert fields[8].startsWith("org.glassfish.build.glassfishbuild-maven-plugin.its.featuresets:web:pom:")
+
+// only the last build reused the lock file
+String log = new File(basedir, "build.log").text
+assert log.count("Staging 1 artifacts locked in") == 1
+
+true
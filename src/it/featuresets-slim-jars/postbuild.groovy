@@ -0,0 +1,40 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipFile
+
+File original = new File(basedir, "lib-a/target").listFiles().find { it.name ==~ /lib-a-.*\.jar/ }
+assert original != null
+File slim = new File(basedir, "distribution/target/stage/lib-a.jar")
+assert slim.isFile()
+
+def names = { File file -> new ZipFile(file).withCloseable { zip -> zip.entries().collect { it.name } } }
+assert names(original).any { it.startsWith("META-INF/maven/") }
+assert names(slim) == names(original).findAll { !it.startsWith("META-INF/maven/") }
+assert names(slim).contains("lib-a.properties")
+
+// the staging manifest records the size of the slimmed jar
+def line = new File(basedir, "distribution/target/stage.manifest").readLines().find { it.startsWith("lib-a.jar\t") }
+assert line != null
+assert Long.parseLong(line.split("\t")[1]) == slim.length()
+
+// the jar which cannot be slimmed is copied with a warning
+File large = new File(basedir, "lib-b/too-many-entries.jar")
+File copied = new File(basedir, "distribution/target/stage/lib-b.jar")
+assert copied.isFile()
+assert copied.bytes == large.bytes
+assert new File(basedir, "build.log").text.contains("Cannot slim ")
+
+true
@@ -0,0 +1,28 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+// after slimming still one entry more than a zip without zip64 can have, the jar is copied as it is
+new ZipOutputStream(new FileOutputStream(new File(basedir, "lib-b/too-many-entries.jar"))).withCloseable { zip ->
+    zip.putNextEntry(new ZipEntry("META-INF/maven/org.glassfish.build/lib-b/pom.properties"))
+    zip.write("artifactId=lib-b\n".getBytes("UTF-8"))
+    for (int i = 0; i < 65536; i++) {
+        zip.putNextEntry(new ZipEntry("lib-b/" + i + ".properties"))
+    }
+}
+
+true
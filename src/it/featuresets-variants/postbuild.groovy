@@ -0,0 +1,36 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+
+File target = new File(basedir, "distribution/target")
+
+File stage = new File(target, "stage")
+assert new File(stage, "lib-a.jar").isFile()
+assert new File(stage, "lib-b.jar").isFile()
+
+File web = new File(target, "web")
+def files = []
+web.eachFileRecurse(groovy.io.FileType.FILES) { files << web.toPath().relativize(it.toPath()).toString() }
+assert files == ["lib-a.jar"]: "Unexpected files of the variant: " + files
+assert new File(web, "lib-a.jar").bytes == new File(stage, "lib-a.jar").bytes
+
+def stagePaths = new File(target, "stage.manifest").readLines().collect { it.split("\t")[0] }
+assert stagePaths.sort() == ["lib-a.jar", "lib-b.jar"]
+def webLines = new File(target, "web.manifest").readLines()
+assert webLines.size() == 1
+assert webLines[0].split("\t")[0] == "lib-a.jar"
+assert webLines[0].split("\t")[2] == "org.glassfish.build.glassfishbuild-maven-plugin.its:lib-a"
+
+true
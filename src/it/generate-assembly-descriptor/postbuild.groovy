@@ -0,0 +1,37 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipFile
+
+File descriptor = new File(basedir, "target/assembly/distribution.xml")
+assert descriptor.isFile()
+def assembly = new groovy.xml.XmlSlurper().parse(descriptor)
+assert assembly.id.text() == "distribution"
+assert assembly.files.file.collect { it.outputDirectory.text() } == ["glassfish7/bin", "glassfish7/glassfish/config",
+    "glassfish7/glassfish/modules"]
+assert assembly.fileSets.fileSet.includes.include.collect { it.text() } == ["glassfish7/glassfish/domains"]
+
+File zip = new File(basedir, "target").listFiles().find { it.name.endsWith(".zip") }
+assert zip != null: "The assembly was not created"
+new ZipFile(zip).withCloseable { archive ->
+    def names = archive.entries().collect { it.name }
+    assert names.contains("glassfish7/bin/asadmin")
+    assert names.contains("glassfish7/glassfish/config/domain.xml")
+    assert names.contains("glassfish7/glassfish/modules/kernel.jar")
+    assert names.contains("glassfish7/glassfish/domains/")
+    assert archive.getInputStream(archive.getEntry("glassfish7/bin/asadmin")).text == "glassfish7/bin/asadmin\n"
+}
+
+true
@@ -0,0 +1,25 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+
+File stage = new File(basedir, "target/stage")
+["glassfish7/bin/asadmin", "glassfish7/glassfish/config/domain.xml", "glassfish7/glassfish/modules/kernel.jar"].each {
+    File file = new File(stage, it)
+    file.parentFile.mkdirs()
+    file.text = it + "\n"
+}
+new File(stage, "glassfish7/glassfish/domains").mkdirs()
+
+true
@@ -0,0 +1,58 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import groovy.json.JsonSlurper
+import java.util.zip.GZIPInputStream
+
+def blob = { File layout, String digest -> new File(layout, "blobs/sha256/" + digest.substring("sha256:".length())) }
+
+def readImage = { File layout ->
+    assert new File(layout, "oci-layout").isFile(): "Missing " + layout
+    def index = new JsonSlurper().parse(new File(layout, "index.json"))
+    String manifestDigest = index.manifests[0].digest
+    def manifest = new JsonSlurper().parse(blob(layout, manifestDigest))
+    [digest: manifestDigest, layers: manifest.layers.collect { it.digest }]
+}
+
+// file names of a gzip compressed tar, without directories
+def listLayer = { File file ->
+    def names = []
+    new GZIPInputStream(new FileInputStream(file)).withCloseable { input ->
+        byte[] header = new byte[512]
+        while (input.readNBytes(header, 0, 512) == 512 && header[0] != 0) {
+            String name = new String(header, 0, 100, "UTF-8").replaceAll("\u0000.*", "")
+            String prefix = new String(header, 345, 155, "UTF-8").replaceAll("\u0000.*", "")
+            long size = Long.parseLong(new String(header, 124, 11, "UTF-8").trim(), 8)
+            if (header[156] == (byte) '0') {
+                names << (prefix.isEmpty() ? name : prefix + "/" + name)
+            }
+            input.skipNBytes((size + 511) & ~511L)
+        }
+    }
+    names
+}
+
+File first = new File(basedir, "target/oci-image-1")
+File second = new File(basedir, "target/oci-image-2")
+def image = readImage(first)
+assert image == readImage(second): "The image is not reproducible"
+
+assert image.layers.size() == 3
+assert listLayer(blob(first, image.layers[0])) == ["opt/glassfish7/glassfish/modules/jackson-core.jar"]
+assert listLayer(blob(first, image.layers[1])) == ["opt/glassfish7/bin/asadmin",
+    "opt/glassfish7/glassfish/modules/kernel.jar"]
+assert listLayer(blob(first, image.layers[2])) == ["opt/glassfish7/glassfish/domains/domain1/config/domain.xml"]
+
+true
@@ -0,0 +1,54 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+File stage = new File(basedir, "target/stage")
+
+def jar = { String path, String groupArtifact ->
+    File file = new File(stage, path)
+    file.parentFile.mkdirs()
+    new ZipOutputStream(new FileOutputStream(file)).withCloseable { output ->
+        ZipEntry entry = new ZipEntry("META-INF/maven/" + groupArtifact + "/pom.properties")
+        entry.time = 0
+        output.putNextEntry(entry)
+        output.write("version=1\n".bytes)
+        output.closeEntry()
+    }
+}
+def text = { String path, String content ->
+    File file = new File(stage, path)
+    file.parentFile.mkdirs()
+    file.text = content
+}
+
+// both jars are unpacked from the GlassFish distribution, only one of them is a GlassFish module
+jar("glassfish7/glassfish/modules/kernel.jar", "org.glassfish.main.core/kernel")
+jar("glassfish7/glassfish/modules/jackson-core.jar", "com.fasterxml.jackson.core/jackson-core")
+text("glassfish7/glassfish/domains/domain1/config/domain.xml", "<domains/>\n")
+text("glassfish7/bin/asadmin", "#!/bin/sh\n")
+
+def distribution = "org.glassfish.main.distributions:glassfish"
+new File(basedir, "target/stage.manifest").text = [
+    "glassfish7/bin/asadmin",
+    "glassfish7/glassfish/domains/domain1/config/domain.xml",
+    "glassfish7/glassfish/modules/jackson-core.jar",
+    "glassfish7/glassfish/modules/kernel.jar"
+].collect { path ->
+    path + "\t" + new File(stage, path).length() + "\t" + distribution + "\tglassfish.zip!/" + path
+}.join("\n") + "\n"
+
+true
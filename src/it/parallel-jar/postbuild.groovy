@@ -0,0 +1,32 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.jar.JarFile
+import java.util.jar.JarInputStream
+
+File jar = new File(basedir, "target/output.jar")
+assert jar.exists(): "The file " + jar + " does not exist."
+
+new JarInputStream(new FileInputStream(jar)).withCloseable { input ->
+    assert input.manifest != null: "The manifest is not the first entry of " + jar
+    assert input.manifest.mainAttributes.getValue("Bundle-SymbolicName") == "org.example.parallel-jar"
+}
+
+new JarFile(jar).withCloseable { input ->
+    def names = input.entries().collect { it.name }
+    assert names == ["META-INF/", "META-INF/MANIFEST.MF", "org/", "org/example/", "org/example/resource.properties"]
+}
+
+true
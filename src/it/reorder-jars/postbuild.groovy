@@ -0,0 +1,33 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipFile
+
+File example = new File(basedir, "target/stage/modules/example.jar")
+new ZipFile(example).withCloseable { zip ->
+    def names = zip.entries().collect { it.name }
+    assert names == ["META-INF/MANIFEST.MF", "org/example/C.class", "org/example/A.class", "org/example/B.class",
+        "org/example/resource.properties"]
+    names.each { name -> assert zip.getInputStream(zip.getEntry(name)).text == name }
+}
+
+// jars without profiled classes are not rewritten
+File other = new File(basedir, "target/stage/modules/other.jar")
+assert other.bytes == new File(basedir, "target/other.jar").bytes
+
+String log = new File(basedir, "build.log").text
+assert log.contains("Reordered 1 of 2 jars by 2 profiled classes")
+
+true
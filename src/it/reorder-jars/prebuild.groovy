@@ -0,0 +1,38 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+def jar = { String path, List<String> names ->
+    File file = new File(basedir, "target/stage/" + path)
+    file.parentFile.mkdirs()
+    new ZipOutputStream(new FileOutputStream(file)).withCloseable { output ->
+        names.each { name ->
+            ZipEntry entry = new ZipEntry(name)
+            entry.time = 0
+            output.putNextEntry(entry)
+            output.write(name.bytes)
+            output.closeEntry()
+        }
+    }
+}
+
+jar("modules/example.jar", ["org/example/A.class", "org/example/B.class", "META-INF/MANIFEST.MF",
+    "org/example/C.class", "org/example/resource.properties"])
+jar("modules/other.jar", ["META-INF/MANIFEST.MF", "org/other/D.class"])
+new File(basedir, "target/other.jar").bytes = new File(basedir, "target/stage/modules/other.jar").bytes
+
+true
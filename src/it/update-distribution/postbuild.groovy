@@ -0,0 +1,46 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.ZipFile
+
+File target = new File(basedir, "target")
+File stage = new File(target, "stage-2")
+File archive = new File(target, "distribution.zip")
+assert archive.isFile()
+assert new File(target, "distribution.zip.state").isFile()
+
+def expected = []
+stage.eachFileRecurse(groovy.io.FileType.FILES) {
+    expected << stage.toPath().relativize(it.toPath()).toString().replace('\\', '/')
+}
+
+new ZipFile(archive).withCloseable { zip ->
+    def files = zip.entries().findAll { !it.directory }
+    assert files.collect { it.name }.sort() == expected.sort()
+    files.each { entry ->
+        assert zip.getInputStream(entry).text == new File(stage, entry.name).text: "Wrong content of " + entry.name
+    }
+}
+
+String log = new File(basedir, "build.log").text
+assert log.contains(archive.name + " is up to date")
+// the second execution rewrites only the changed and added files, removes the file and its directory
+assert log.contains(": 6 entries unchanged, 2 written, 2 removed")
+
+// no temporary files or journal left next to the archive
+assert target.list().findAll { it.endsWith(".tmp") }.isEmpty()
+assert !new File(target, "distribution.zip.journal").exists()
+
+true
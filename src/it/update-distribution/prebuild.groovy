@@ -0,0 +1,38 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+
+def stage = { String name, Map<String, String> files ->
+    files.each { path, content ->
+        File file = new File(basedir, "target/" + name + "/" + path)
+        file.parentFile.mkdirs()
+        file.text = content
+    }
+}
+
+stage("stage-1", [
+    "glassfish7/bin/asadmin": "#!/bin/sh\n",
+    "glassfish7/glassfish/lib/removed.txt": "removed\n",
+    "glassfish7/glassfish/modules/changed.txt": "version 1\n",
+    "glassfish7/glassfish/modules/kept.txt": "kept\n"
+])
+stage("stage-2", [
+    "glassfish7/bin/asadmin": "#!/bin/sh\n",
+    "glassfish7/glassfish/modules/added.txt": "added\n",
+    "glassfish7/glassfish/modules/changed.txt": "version 2 is longer\n",
+    "glassfish7/glassfish/modules/kept.txt": "kept\n"
+])
+
+true
@@ -0,0 +1,26 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+
+String log = new File(basedir, "build.log").text
+File broken = new File(basedir, "target/broken")
+
+assert log.contains("Verified " + new File(basedir, "target/stage"))
+assert log.contains("README.txt: missing, staged from source/README.txt")
+assert log.contains("config/domain.xml: size 18 B, expected 10 B")
+assert log.contains("module.jar!/org/example/resource.properties: CRC mismatch")
+assert log.contains("Found 3 integrity problems in " + broken)
+
+true
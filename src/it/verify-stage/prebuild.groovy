@@ -0,0 +1,65 @@
+/*
+    Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+
+    This program and the accompanying materials are made available under the
+    terms of the Eclipse Public License v. 2.0, which is available at
+    http://www.eclipse.org/legal/epl-2.0.
+
+    This Source Code may also be made available under the following Secondary
+    Licenses when the conditions for such availability set forth in the
+    Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+    version 2 with the GNU Classpath Exception, which is available at
+    https://www.gnu.org/software/classpath/license.html.
+
+    SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+*/
+import java.util.zip.CRC32
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+File target = new File(basedir, "target")
+
+def storedJar = { File file, String name, String content ->
+    byte[] bytes = content.getBytes("UTF-8")
+    CRC32 crc = new CRC32()
+    crc.update(bytes)
+    ZipEntry entry = new ZipEntry(name)
+    entry.method = ZipEntry.STORED
+    entry.size = bytes.length
+    entry.crc = crc.value
+    file.parentFile.mkdirs()
+    new ZipOutputStream(new FileOutputStream(file)).withCloseable { output ->
+        output.putNextEntry(entry)
+        output.write(bytes)
+        output.closeEntry()
+    }
+}
+
+def writeStage = { String name, boolean broken ->
+    File stage = new File(target, name)
+    File config = new File(stage, "config/domain.xml")
+    config.parentFile.mkdirs()
+    config.text = "<domain/>\n"
+    File module = new File(stage, "modules/module.jar")
+    storedJar(module, "org/example/resource.properties", "message=Hello\n")
+    File readme = new File(stage, "README.txt")
+    readme.text = "readme\n"
+
+    def manifest = [config, module, readme].collect { file ->
+        String path = stage.toPath().relativize(file.toPath()).toString().replace('\\', '/')
+        path + "\t" + file.length() + "\torg.example:example\tsource/" + path
+    }
+    new File(target, name + ".manifest").text = manifest.join("\n") + "\n"
+
+    if (broken) {
+        // same size, different content of the stored entry
+        module.bytes = new String(module.bytes, "ISO-8859-1").replace("Hello", "Jello").getBytes("ISO-8859-1")
+        config.text = "<domain></domain>\n"
+        readme.delete()
+    }
+}
+
+writeStage("stage", false)
+writeStage("broken", true)
+
+true
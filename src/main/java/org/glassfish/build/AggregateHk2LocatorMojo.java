@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Merges HK2 locator descriptors of all staged jars into distribution level locator files.
+ * <p>
+ * Every {@code META-INF/hk2-locator/<name>} file found in the archives of the stage directory
+ * is appended to {@code <outputDirectory>/<name>}, in the order of the archive paths, so the
+ * runtime can read the descriptors of the whole distribution with one sequential read.
+ * An index file {@code <name>.index} is written next to every merged file. It has one tab separated line
+ * per archive: the offset and the length of its descriptors in the merged file and the archive path
+ * relative to the stage directory.
+ */
+@Mojo(name = "aggregate-hk2-locator", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class AggregateHk2LocatorMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "aggregateHk2Locator.";
+    private static final String LOCATOR_DIRECTORY = "META-INF/hk2-locator/";
+    private static final String INDEX_SUFFIX = ".index";
+
+    /**
+     * The directory with the archives to scan.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * Comma separated list of file extensions of archives to scan.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * The directory where the merged locator files are written.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputDirectory",
+        defaultValue = "${project.build.directory}/stage/hk2-locator")
+    private File outputDirectory;
+
+    /**
+     * Number of threads reading the archives. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Path root = stageDirectory.toPath();
+        final List<Path> archives = StageFiles.listArchives(stageDirectory, archiveTypes);
+        final List<Map<String, String>> descriptors = Parallel.map(archives, threads, this::readDescriptors);
+
+        final Map<String, MergedLocator> locators = new TreeMap<>();
+        for (int i = 0; i < archives.size(); i++) {
+            final String path = StageFiles.relativize(root, archives.get(i));
+            for (final Map.Entry<String, String> locator : descriptors.get(i).entrySet()) {
+                locators.computeIfAbsent(locator.getKey(), k -> new MergedLocator()).add(path, locator.getValue());
+            }
+        }
+
+        try {
+            Files.createDirectories(outputDirectory.toPath());
+            for (final Map.Entry<String, MergedLocator> locator : locators.entrySet()) {
+                final MergedLocator merged = locator.getValue();
+                write(locator.getKey(), merged.content);
+                write(locator.getKey() + INDEX_SUFFIX, merged.index);
+                getLog().info("Merged " + merged.files + " hk2 locator files to "
+                    + new File(outputDirectory, locator.getKey()));
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + outputDirectory, e);
+        }
+    }
+
+
+    private void write(final String name, final CharSequence content) throws IOException {
+        final byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        StagingLocks.writeAtomically(new ByteArrayInputStream(bytes), outputDirectory.toPath().resolve(name));
+    }
+
+
+    /**
+     * Reads locator descriptors of the archive.
+     *
+     * @param archive the archive
+     * @return locator names and their descriptors, each ending with an empty line
+     * @throws IOException if the archive cannot be read
+     */
+    private Map<String, String> readDescriptors(final Path archive) throws IOException {
+        final Map<String, String> descriptors = new TreeMap<>();
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (entry.isDirectory() || !name.startsWith(LOCATOR_DIRECTORY)
+                    || name.indexOf('/', LOCATOR_DIRECTORY.length()) >= 0) {
+                    continue;
+                }
+                final String content;
+                try (InputStream input = zip.getInputStream(entry)) {
+                    content = new String(input.readAllBytes(), StandardCharsets.UTF_8).strip();
+                }
+                if (!content.isEmpty()) {
+                    descriptors.put(name.substring(LOCATOR_DIRECTORY.length()), content + "\n\n");
+                }
+            }
+        } catch (final IOException e) {
+            throw new IOException("Failed to read " + archive + ": " + e.getMessage(), e);
+        }
+        return descriptors;
+    }
+
+
+    /**
+     * Merged locator file and its index.
+     */
+    private static final class MergedLocator {
+
+        private final StringBuilder content = new StringBuilder();
+        private final StringBuilder index = new StringBuilder();
+        private long size;
+        private int files;
+
+        void add(final String path, final String descriptors) {
+            final int length = descriptors.getBytes(StandardCharsets.UTF_8).length;
+            content.append(descriptors);
+            index.append(size).append('\t').append(length).append('\t').append(path).append('\n');
+            size += length;
+            files++;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Reports staged jars never reachable from the configured roots.
+ * <p>
+ * The jars of the stage directory are read in parallel to build a graph of class references,
+ * see {@link ClassReferences}. Classes reachable from the roots are marked, the roots are
+ * <ul>
+ * <li>the {@code rootClasses},
+ * <li>all classes of the jars matching {@code rootJars},
+ * <li>main classes, agents and bundle activators named in the jar manifests,
+ * <li>service providers listed in {@code META-INF/services},
+ * <li>services listed in the HK2 locator descriptors.
+ * </ul>
+ * Jars without any reachable class are reported, optionally with unreachable packages of the
+ * other jars. Artifacts of the unreachable jars copied by the {@code featuresets-dependencies} goal
+ * can be written as its {@code copyExcludes} property to the {@code excludesFile}.
+ */
+@Mojo(name = "analyze-reachability", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class AnalyzeReachabilityMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "analyzeReachability.";
+    private static final String COPY_EXCLUDES_PROPERTY = Constants.PROPERTY_PREFIX
+        + "featuresets.dependencies.copyExcludes";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String META_INF = "META-INF/";
+    private static final String VERSIONS = "META-INF/versions/";
+    private static final String SERVICES = "META-INF/services/";
+    private static final String HK2_LOCATOR = "META-INF/hk2-locator/";
+    private static final String ARCHIVE_SEPARATOR = "!/";
+    private static final List<String> ENTRY_POINTS = List.of("Main-Class", "Bundle-Activator", "Premain-Class",
+        "Agent-Class", "Launcher-Agent-Class");
+
+    /**
+     * The directory to analyze.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The staging manifest written by the {@code featuresets-dependencies} goal. Ignored if it does not exist.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    /**
+     * Comma separated list of file extensions of archives to analyze.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * Comma separated list of root class names. A name ending with {@code .*} selects all classes
+     * of the package, a name ending with {@code .**} selects also classes of its subpackages.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "rootClasses")
+    private List<String> rootClasses;
+
+    /**
+     * Comma separated list of path patterns of jars relative to the stage directory, all their classes
+     * are roots.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "rootJars")
+    private List<String> rootJars;
+
+    /**
+     * If {@code true}, main classes, agents and bundle activators named in jar manifests are roots.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "manifestRoots", defaultValue = "true")
+    private boolean manifestRoots;
+
+    /**
+     * If {@code true}, service providers listed in {@code META-INF/services} are roots.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "serviceRoots", defaultValue = "true")
+    private boolean serviceRoots;
+
+    /**
+     * If {@code true}, services listed in {@code META-INF/hk2-locator} descriptors are roots.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "hk2Roots", defaultValue = "true")
+    private boolean hk2Roots;
+
+    /**
+     * If {@code true}, unreachable packages of reachable jars are reported too.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "reportPackages", defaultValue = "false")
+    private boolean reportPackages;
+
+    /**
+     * The report file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "reportFile",
+        defaultValue = "${project.build.directory}/reachability.txt")
+    private File reportFile;
+
+    /**
+     * If set, a properties file setting {@code copyExcludes} of the {@code featuresets-dependencies} goal
+     * to the artifacts of the unreachable jars is written to this file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "excludesFile")
+    private File excludesFile;
+
+    /**
+     * Number of threads reading the jars. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Path root = stageDirectory.toPath();
+        final List<Path> archives = StageFiles.listArchives(stageDirectory, archiveTypes);
+        final List<JarIndex> jars = Parallel.map(archives, threads,
+            archive -> index(StageFiles.relativize(root, archive), archive));
+
+        final Map<String, Set<String>> references = new HashMap<>();
+        final Map<String, List<JarIndex>> owners = new HashMap<>();
+        final Set<String> knownClasses = new HashSet<>();
+        for (final JarIndex jar : jars) {
+            for (final Map.Entry<String, Set<String>> type : jar.classes.entrySet()) {
+                knownClasses.add(type.getKey());
+                references.computeIfAbsent(type.getKey(), k -> new HashSet<>()).addAll(type.getValue());
+                owners.computeIfAbsent(type.getKey(), k -> new ArrayList<>()).add(jar);
+            }
+        }
+
+        final Deque<String> queue = new ArrayDeque<>(getRoots(jars, knownClasses));
+        final Set<String> reachable = new HashSet<>(queue);
+        while (!queue.isEmpty()) {
+            for (final String reference : references.getOrDefault(queue.poll(), Set.of())) {
+                if (knownClasses.contains(reference) && reachable.add(reference)) {
+                    queue.add(reference);
+                }
+            }
+        }
+
+        final List<JarIndex> unreachableJars = new ArrayList<>();
+        final Map<String, Set<String>> unreachablePackages = new TreeMap<>();
+        for (final JarIndex jar : jars) {
+            if (jar.classes.isEmpty()) {
+                continue;
+            }
+            final Set<String> packages = new TreeSet<>();
+            final Set<String> reachablePackages = new HashSet<>();
+            for (final String type : jar.classes.keySet()) {
+                (reachable.contains(type) ? reachablePackages : packages).add(getPackage(type));
+            }
+            if (reachablePackages.isEmpty()) {
+                unreachableJars.add(jar);
+                continue;
+            }
+            packages.removeAll(reachablePackages);
+            if (!packages.isEmpty()) {
+                unreachablePackages.put(jar.path, packages);
+            }
+        }
+        report(jars, knownClasses.size(), reachable.size(), unreachableJars, unreachablePackages);
+        if (excludesFile != null) {
+            writeExcludes(unreachableJars);
+        }
+    }
+
+
+    private Set<String> getRoots(final List<JarIndex> jars, final Set<String> knownClasses) {
+        final Set<String> roots = new HashSet<>();
+        for (final JarIndex jar : jars) {
+            roots.addAll(jar.roots);
+            if (rootJars != null && rootJars.stream().anyMatch(pattern -> SelectorUtils.matchPath(pattern, jar.path))) {
+                roots.addAll(jar.classes.keySet());
+            }
+        }
+        if (rootClasses != null) {
+            for (final String rootClass : rootClasses) {
+                final String name = rootClass.strip().replace('.', '/');
+                if (name.endsWith("/**")) {
+                    final String prefix = name.substring(0, name.length() - 2);
+                    knownClasses.stream().filter(type -> type.startsWith(prefix)).forEach(roots::add);
+                } else if (name.endsWith("/*")) {
+                    final String prefix = name.substring(0, name.length() - 2);
+                    knownClasses.stream().filter(type -> getPackage(type).equals(prefix)).forEach(roots::add);
+                } else {
+                    roots.add(name);
+                }
+            }
+        }
+        roots.retainAll(knownClasses);
+        getLog().info("Found " + roots.size() + " root classes");
+        return roots;
+    }
+
+
+    private void report(final List<JarIndex> jars, final int classes, final int reachable,
+        final List<JarIndex> unreachableJars, final Map<String, Set<String>> unreachablePackages)
+        throws MojoExecutionException {
+        final List<String> report = new ArrayList<>();
+        report.add("Jars: " + jars.size() + ", classes: " + classes + ", reachable classes: " + reachable);
+        report.add("");
+        report.add("Unreachable jars: " + unreachableJars.size());
+        unreachableJars.forEach(jar -> report.add("  " + jar.path));
+        if (reportPackages) {
+            report.add("");
+            report.add("Unreachable packages of reachable jars:");
+            unreachablePackages.forEach((path, packages) -> {
+                report.add("  " + path + ":");
+                packages.forEach(name -> report.add("    " + name.replace('/', '.')));
+            });
+        }
+        report.forEach(getLog()::info);
+        try {
+            Files.createDirectories(reportFile.getAbsoluteFile().getParentFile().toPath());
+            Files.write(reportFile.toPath(), report, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + reportFile, e);
+        }
+    }
+
+
+    private void writeExcludes(final List<JarIndex> unreachableJars) throws MojoExecutionException {
+        final Map<String, StagingManifest.Entry> staged = new HashMap<>();
+        try {
+            for (final StagingManifest.Entry entry : StagingManifest.read(stagingManifest).getEntries()) {
+                staged.put(entry.getPath(), entry);
+            }
+        } catch (final IOException | NumberFormatException e) {
+            throw new MojoExecutionException("Failed to read " + stagingManifest, e);
+        }
+        final Set<String> artifacts = new TreeSet<>();
+        for (final JarIndex jar : unreachableJars) {
+            final StagingManifest.Entry entry = staged.get(jar.path);
+            if (entry == null || entry.getSource().contains(ARCHIVE_SEPARATOR)) {
+                getLog().debug(jar.path + " was not copied by featuresets-dependencies");
+                continue;
+            }
+            artifacts.add(entry.getArtifact());
+        }
+        try {
+            Files.createDirectories(excludesFile.getAbsoluteFile().getParentFile().toPath());
+            Files.write(excludesFile.toPath(), List.of(COPY_EXCLUDES_PROPERTY + "=" + String.join(",", artifacts)),
+                StandardCharsets.ISO_8859_1);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + excludesFile, e);
+        }
+        getLog().info("Written " + artifacts.size() + " copy excludes to " + excludesFile);
+    }
+
+
+    private JarIndex index(final String path, final Path archive) throws IOException {
+        final JarIndex jar = new JarIndex(path);
+        try (JarFile zip = new JarFile(archive.toFile(), false)) {
+            final Manifest manifest = zip.getManifest();
+            if (manifestRoots && manifest != null) {
+                final Attributes attributes = manifest.getMainAttributes();
+                for (final String header : ENTRY_POINTS) {
+                    final String value = attributes.getValue(header);
+                    if (value != null) {
+                        jar.roots.add(value.strip().replace('.', '/'));
+                    }
+                }
+            }
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String name = entry.getName();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (name.endsWith(CLASS_SUFFIX) && !name.endsWith(MODULE_INFO)
+                    && (!name.startsWith(META_INF) || name.startsWith(VERSIONS))) {
+                    final ClassReferences type;
+                    try (InputStream input = zip.getInputStream(entry)) {
+                        type = ClassReferences.parse(input.readAllBytes());
+                    } catch (final IOException e) {
+                        throw new IOException("Failed to read " + name + " of " + archive + ": " + e.getMessage(), e);
+                    }
+                    jar.classes.computeIfAbsent(type.getClassName(), k -> new HashSet<>())
+                        .addAll(type.getReferences());
+                } else if (serviceRoots && name.startsWith(SERVICES) && name.indexOf('/', SERVICES.length()) < 0) {
+                    readLines(zip, entry, line -> {
+                        final int comment = line.indexOf('#');
+                        final String provider = (comment < 0 ? line : line.substring(0, comment)).strip();
+                        if (!provider.isEmpty()) {
+                            jar.roots.add(provider.replace('.', '/'));
+                        }
+                    });
+                } else if (hk2Roots && name.startsWith(HK2_LOCATOR)) {
+                    readLines(zip, entry, line -> {
+                        if (line.startsWith("[") && line.endsWith("]")) {
+                            jar.roots.add(line.substring(1, line.length() - 1).replace('.', '/'));
+                        }
+                    });
+                }
+            }
+        } catch (final IOException e) {
+            throw new IOException("Failed to read " + archive + ": " + e.getMessage(), e);
+        }
+        return jar;
+    }
+
+
+    private static void readLines(final JarFile zip, final ZipEntry entry, final Consumer<String> consumer)
+        throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(zip.getInputStream(entry), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                consumer.accept(line.strip());
+            }
+        }
+    }
+
+
+    private static String getPackage(final String type) {
+        final int slash = type.lastIndexOf('/');
+        return slash < 0 ? "" : type.substring(0, slash);
+    }
+
+
+    /**
+     * Classes and roots of a single jar.
+     */
+    private static final class JarIndex {
+
+        private final String path;
+        private final Map<String, Set<String>> classes = new HashMap<>();
+        private final Set<String> roots = new HashSet<>();
+
+        JarIndex(final String relativePath) {
+            this.path = relativePath;
+        }
+    }
+}
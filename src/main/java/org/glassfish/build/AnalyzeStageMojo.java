@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Reports duplicates and the largest contributors to the size of the stage directory.
+ * <p>
+ * All files of the stage are hashed and all archives are indexed in parallel. The report contains
+ * <ul>
+ * <li>classes contained in more than one archive,
+ * <li>identical files staged to more than one location,
+ * <li>archives with the largest compressed and uncompressed sizes.
+ * </ul>
+ * The report is printed and written to the {@code reportFile}.
+ */
+@Mojo(name = "analyze-stage", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class AnalyzeStageMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "analyzeStage.";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String MODULE_INFO = "module-info.class";
+    private static final String META_INF = "META-INF/";
+
+    /**
+     * The directory to analyze.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * Comma separated list of file extensions of archives to index.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar,war,rar")
+    private List<String> archiveTypes;
+
+    /**
+     * The report file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "reportFile",
+        defaultValue = "${project.build.directory}/stage-analysis.txt")
+    private File reportFile;
+
+    /**
+     * Number of the largest archives to report.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "top", defaultValue = "20")
+    private int top;
+
+    /**
+     * Maximal allowed size of all files in the stage directory in bytes. Zero or less means no limit.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "maxStageSize", defaultValue = "0")
+    private long maxStageSize;
+
+    /**
+     * Maximal allowed uncompressed size of the stage in bytes, archives are counted by the size of their
+     * content. Zero or less means no limit.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "maxUncompressedSize", defaultValue = "0")
+    private long maxUncompressedSize;
+
+    /**
+     * If {@code true}, a class contained in more than one archive fails the build.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "failOnDuplicateClasses", defaultValue = "false")
+    private boolean failOnDuplicateClasses;
+
+    /**
+     * Number of threads indexing the files. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Path root = stageDirectory.toPath();
+        final List<Path> files = StageFiles.listFiles(stageDirectory);
+        final List<FileIndex> index = Parallel.map(files, threads, file -> index(root, file));
+
+        final Map<String, List<String>> classes = new TreeMap<>();
+        final Map<String, List<String>> contents = new TreeMap<>();
+        long stageSize = 0;
+        long uncompressedSize = 0;
+        for (final FileIndex file : index) {
+            stageSize += file.size;
+            uncompressedSize += file.uncompressedSize;
+            contents.computeIfAbsent(file.checksum, k -> new ArrayList<>()).add(file.path);
+            for (final String className : file.classes) {
+                classes.computeIfAbsent(className, k -> new ArrayList<>()).add(file.path);
+            }
+        }
+        classes.values().removeIf(paths -> paths.size() < 2);
+        contents.values().removeIf(paths -> paths.size() < 2);
+
+        final List<String> report = new ArrayList<>();
+        report.add("Files: " + index.size() + ", size: " + stageSize + " B, uncompressed size: " + uncompressedSize
+            + " B");
+        report.add("");
+        report.add("Classes contained in more than one archive: " + classes.size());
+        classes.forEach((name, paths) -> report.add("  " + name + ": " + String.join(", ", paths)));
+        report.add("");
+        report.add("Identical files: " + contents.size());
+        contents.values().forEach(paths -> report.add("  " + String.join(", ", paths)));
+        report.add("");
+        report.add("Largest archives by compressed size:");
+        largest(index, Comparator.comparingLong(f -> f.size))
+            .forEach(file -> report.add("  " + file.size + " B: " + file.path));
+        report.add("");
+        report.add("Largest archives by uncompressed size:");
+        largest(index, Comparator.comparingLong(f -> f.uncompressedSize))
+            .forEach(file -> report.add("  " + file.uncompressedSize + " B: " + file.path));
+
+        report.forEach(getLog()::info);
+        try {
+            Files.createDirectories(reportFile.getParentFile().toPath());
+            Files.write(reportFile.toPath(), report, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + reportFile, e);
+        }
+
+        if (maxStageSize > 0 && stageSize > maxStageSize) {
+            throw new MojoFailureException("The stage size " + stageSize + " B exceeds the limit " + maxStageSize
+                + " B. See " + reportFile + " for the largest contributors.");
+        }
+        if (maxUncompressedSize > 0 && uncompressedSize > maxUncompressedSize) {
+            throw new MojoFailureException("The uncompressed stage size " + uncompressedSize
+                + " B exceeds the limit " + maxUncompressedSize + " B. See " + reportFile
+                + " for the largest contributors.");
+        }
+        if (failOnDuplicateClasses && !classes.isEmpty()) {
+            throw new MojoFailureException(classes.size() + " classes are contained in more than one archive."
+                + " See " + reportFile + " for the list.");
+        }
+    }
+
+
+    private List<FileIndex> largest(final List<FileIndex> index, final Comparator<FileIndex> comparator) {
+        return index.stream().filter(file -> file.archive).sorted(comparator.reversed()).limit(top)
+            .collect(Collectors.toList());
+    }
+
+
+    private FileIndex index(final Path root, final Path file) throws IOException {
+        final FileIndex result = new FileIndex(StageFiles.relativize(root, file));
+        result.size = Files.size(file);
+        result.uncompressedSize = result.size;
+        result.checksum = result.size + ":" + Checksums.digest(file, List.of("SHA-256")).get("SHA-256");
+        if (!StageFiles.hasExtension(file, archiveTypes)) {
+            return result;
+        }
+        result.archive = true;
+        result.uncompressedSize = 0;
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                result.uncompressedSize += Math.max(0, entry.getSize());
+                final String name = entry.getName();
+                // multi-release variants of a class are not duplicates
+                if (name.endsWith(CLASS_SUFFIX) && !name.endsWith(MODULE_INFO) && !name.startsWith(META_INF)) {
+                    result.classes.add(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+                }
+            }
+        } catch (final IOException e) {
+            throw new IOException("Failed to read " + file + ": " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+
+    /**
+     * What we know about a single file of the stage.
+     */
+    private static final class FileIndex {
+
+        private final String path;
+        private final List<String> classes = new ArrayList<>();
+        private boolean archive;
+        private long size;
+        private long uncompressedSize;
+        private String checksum;
+
+        FileIndex(final String relativePath) {
+            this.path = relativePath;
+        }
+    }
+}
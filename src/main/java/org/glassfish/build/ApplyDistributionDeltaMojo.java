@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Rebuilds a distribution from its previous version and a delta created by the
+ * {@code distribution-delta} goal. Does not need a project, so it can be executed directly
+ * on the target machine.
+ *
+ * @see DistributionDeltaMojo
+ */
+@Mojo(name = "apply-distribution-delta", threadSafe = true, requiresProject = false)
+public final class ApplyDistributionDeltaMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "applyDistributionDelta.";
+
+    /**
+     * The previous distribution the delta was created for.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "baseFile", required = true)
+    private File baseFile;
+
+    /**
+     * The delta.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "deltaFile", required = true)
+    private File deltaFile;
+
+    /**
+     * The distribution to create.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputFile", required = true)
+    private File outputFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        final DistributionDelta delta = new DistributionDelta();
+        try {
+            final File parent = outputFile.getAbsoluteFile().getParentFile();
+            parent.mkdirs();
+            delta.apply(baseFile.toPath(), deltaFile.toPath(), outputFile.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to apply " + deltaFile + " to " + baseFile, e);
+        }
+        getLog().info("Created " + outputFile + ": " + delta.getKept() + " kept, " + delta.getAdded() + " added, "
+            + delta.getPatched() + " patched, " + delta.getRemoved() + " removed entries");
+    }
+}
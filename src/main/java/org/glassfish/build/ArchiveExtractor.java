@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.glassfish.build.zip.DosTime;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+
+/**
+ * Extracts zip archives, applying {@link EntryTransform}s to the entries as they are written.
+ * <p>
+ * Used instead of the plexus {@code UnArchiver}, which does not allow changing the content.
+ * Files are written atomically, see {@link StagingLocks}.
+ */
+final class ArchiveExtractor {
+
+    private static final int PERMISSIONS_SHIFT = 16;
+    private static final int PERMISSIONS_MASK = 0777;
+    private static final PosixFilePermission[] PERMISSIONS = {
+        PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_READ,
+        PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+        PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_READ,
+    };
+
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final List<EntryTransform> transforms;
+    private final Log log;
+
+    /**
+     * Creates the extractor.
+     *
+     * @param includePatterns entries to extract, empty list means all
+     * @param excludePatterns entries not to extract
+     * @param entryTransforms initialized transforms
+     * @param warnings receives warnings about duplicate entries
+     */
+    ArchiveExtractor(final List<String> includePatterns, final List<String> excludePatterns,
+        final List<EntryTransform> entryTransforms, final Log warnings) {
+        this.includes = includePatterns;
+        this.excludes = excludePatterns;
+        this.transforms = entryTransforms;
+        this.log = warnings;
+    }
+
+
+    /**
+     * Extracts the archive.
+     *
+     * @param archive the zip archive
+     * @param location the target directory
+     * @param listener notified about every extracted file
+     * @return number of extracted files
+     * @throws IOException if the archive cannot be read or the files cannot be written
+     */
+    int extract(final File archive, final File location, final Listener listener) throws IOException {
+        final Path root = location.toPath().toAbsolutePath().normalize();
+        int count = 0;
+        try (ZipReader zip = new ZipReader(archive.toPath())) {
+            for (final String name : zip.getDuplicates()) {
+                log.warn("Entry " + name + " is in " + archive + " more than once, the last one is extracted");
+            }
+            for (final RawZipEntry entry : zip.getEntries()) {
+                final String name = entry.getName();
+                if (!isSelected(name)) {
+                    continue;
+                }
+                final Path target = root.resolve(name).normalize();
+                if (!target.startsWith(root)) {
+                    throw new IOException("Entry " + name + " of " + archive + " is outside of the target directory");
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                final List<EntryTransform> matching = new ArrayList<>();
+                final long size;
+                InputStream content = zip.openContent(entry);
+                try {
+                    for (final EntryTransform transform : transforms) {
+                        if (transform.matches(name)) {
+                            content = transform.getTransformer().transform(name, content);
+                            matching.add(transform);
+                        }
+                    }
+                    StagingLocks.writeAtomically(content, target);
+                    size = matching.isEmpty() ? entry.getSize() : -1;
+                } finally {
+                    content.close();
+                }
+                Files.setLastModifiedTime(target, FileTime.from(DosTime.toInstant(entry.getDosTime())));
+                setPermissions(target, entry);
+                for (final EntryTransform transform : matching) {
+                    transform.getTransformer().transformFile(name, target);
+                }
+                listener.extracted(name, target, size);
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    private boolean isSelected(final String name) {
+        if (!includes.isEmpty() && includes.stream().noneMatch(pattern -> SelectorUtils.matchPath(pattern, name))) {
+            return false;
+        }
+        return excludes.stream().noneMatch(pattern -> SelectorUtils.matchPath(pattern, name));
+    }
+
+
+    private static void setPermissions(final Path file, final RawZipEntry entry) throws IOException {
+        final int mode = (int) (entry.getExternalAttributes() >> PERMISSIONS_SHIFT) & PERMISSIONS_MASK;
+        if (mode == 0 || Files.getFileAttributeView(file, PosixFileAttributeView.class) == null) {
+            return;
+        }
+        final Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            if ((mode & (1 << i)) != 0) {
+                permissions.add(PERMISSIONS[i]);
+            }
+        }
+        Files.setPosixFilePermissions(file, permissions);
+    }
+
+
+    /**
+     * Receives extracted files.
+     */
+    @FunctionalInterface
+    interface Listener {
+
+        /**
+         * Called after the file was extracted.
+         *
+         * @param name the entry name
+         * @param file the extracted file
+         * @param expectedSize size of the entry, -1 if the content was transformed
+         */
+        void extracted(String name, Path file, long expectedSize);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+
+/**
+ * Binary patch between two versions of a zip archive.
+ * <p>
+ * The new archive is described as a sequence of byte ranges copied from the old archive and literal
+ * bytes. Entries present in both versions with the same content usually have the same raw bytes,
+ * just at a different position, so only changed entries and the central directory are literal.
+ * Applying the patch gives exactly the same bytes as the new archive.
+ */
+final class ArchivePatch {
+
+    private static final int MAGIC = 0x47465031;
+    private static final int END = 0;
+    private static final int COPY = 1;
+    private static final int LITERAL = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ArchivePatch() {
+        // hidden
+    }
+
+
+    /**
+     * Creates the patch.
+     *
+     * @param oldArchive the old version of the archive
+     * @param newArchive the new version of the archive
+     * @param patch the target stream
+     * @throws IOException if any of the archives cannot be read or the new one has duplicate entries
+     */
+    static void create(final Path oldArchive, final Path newArchive, final OutputStream patch) throws IOException {
+        try (ZipReader oldZip = new ZipReader(oldArchive); ZipReader newZip = new ZipReader(newArchive)) {
+            if (!newZip.getDuplicates().isEmpty()) {
+                throw new IOException("Duplicate entries " + newZip.getDuplicates() + " in " + newArchive);
+            }
+            final Map<String, long[]> oldRanges = new HashMap<>();
+            for (final Range range : ranges(oldZip)) {
+                oldRanges.put(key(range.entry), new long[] {range.start, range.end});
+            }
+            final DataOutputStream output = new DataOutputStream(patch);
+            output.writeInt(MAGIC);
+            output.writeLong(newZip.size());
+            long position = 0;
+            for (final Range range : ranges(newZip)) {
+                final long[] old = oldRanges.get(key(range.entry));
+                final long length = range.end - range.start;
+                if (old == null || old[1] - old[0] != length
+                    || !sameBytes(oldZip, old[0], newZip, range.start, length)) {
+                    continue;
+                }
+                writeLiteral(newZip, position, range.start, output);
+                output.writeByte(COPY);
+                output.writeLong(old[0]);
+                output.writeLong(length);
+                position = range.end;
+            }
+            writeLiteral(newZip, position, newZip.size(), output);
+            output.writeByte(END);
+            output.flush();
+        }
+    }
+
+
+    /**
+     * Applies the patch.
+     *
+     * @param oldArchive the old version of the archive the patch was created for
+     * @param patch the patch
+     * @param target the stream for the new version of the archive
+     * @throws IOException if the old archive cannot be read or the patch is invalid
+     */
+    static void apply(final Path oldArchive, final InputStream patch, final OutputStream target) throws IOException {
+        final DataInputStream input = new DataInputStream(patch);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Invalid archive patch");
+        }
+        final long size = input.readLong();
+        long written = 0;
+        try (ZipReader oldZip = new ZipReader(oldArchive)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (true) {
+                final int operation = input.readByte();
+                if (operation == END) {
+                    break;
+                }
+                final long length;
+                if (operation == COPY) {
+                    final long offset = input.readLong();
+                    length = input.readLong();
+                    oldZip.copyRange(offset, length, target);
+                } else if (operation == LITERAL) {
+                    length = input.readLong();
+                    long remaining = length;
+                    while (remaining > 0) {
+                        final int chunk = (int) Math.min(buffer.length, remaining);
+                        input.readFully(buffer, 0, chunk);
+                        target.write(buffer, 0, chunk);
+                        remaining -= chunk;
+                    }
+                } else {
+                    throw new IOException("Invalid archive patch operation " + operation);
+                }
+                written += length;
+            }
+        }
+        if (written != size) {
+            throw new IOException("Archive patch produced " + written + " bytes instead of " + size);
+        }
+    }
+
+
+    private static void writeLiteral(final ZipReader zip, final long start, final long end,
+        final DataOutputStream output) throws IOException {
+        if (start >= end) {
+            return;
+        }
+        output.writeByte(LITERAL);
+        output.writeLong(end - start);
+        zip.copyRange(start, end - start, output);
+    }
+
+
+    private static boolean sameBytes(final ZipReader first, final long firstOffset, final ZipReader second,
+        final long secondOffset, final long length) throws IOException {
+        for (long done = 0; done < length; done += BUFFER_SIZE) {
+            final int chunk = (int) Math.min(BUFFER_SIZE, length - done);
+            if (!Arrays.equals(first.readRange(firstOffset + done, chunk),
+                second.readRange(secondOffset + done, chunk))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Byte ranges of the entries, from the local header to the next local header, so data descriptors
+     * are included.
+     */
+    private static List<Range> ranges(final ZipReader zip) {
+        final List<RawZipEntry> entries = new ArrayList<>(zip.getEntries());
+        entries.sort(Comparator.comparingLong(RawZipEntry::getLocalHeaderOffset));
+        final List<Range> ranges = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            final long end = i + 1 < entries.size() ? entries.get(i + 1).getLocalHeaderOffset()
+                : zip.getCentralDirectoryOffset();
+            ranges.add(new Range(entries.get(i), entries.get(i).getLocalHeaderOffset(), end));
+        }
+        return ranges;
+    }
+
+
+    private static String key(final RawZipEntry entry) {
+        return entry.getName() + '\n' + entry.getCrc() + '\n' + entry.getSize() + '\n' + entry.getCompressedSize();
+    }
+
+
+    /**
+     * Bytes of a single entry.
+     */
+    private static final class Range {
+
+        private final RawZipEntry entry;
+        private final long start;
+        private final long end;
+
+        Range(final RawZipEntry rangeEntry, final long rangeStart, final long rangeEnd) {
+            this.entry = rangeEntry;
+            this.start = rangeStart;
+            this.end = rangeEnd;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Selects one artifact for each target staged by the {@code featuresets-dependencies} goal.
+ * <p>
+ * The caller identifies the target of each artifact, ie. the file an artifact is copied to, so artifacts
+ * renamed by mappings to the same file are detected too. Artifacts are added in the order of nearness,
+ * the direct dependencies of the project first, then the dependencies of the featuresets in the order
+ * of their declaration. Different artifacts with the same target are a conflict resolved by the
+ * {@link Policy}.
+ */
+final class ArtifactSelection {
+
+    /**
+     * How to resolve a conflict of artifacts with the same target.
+     */
+    enum Policy {
+
+        /**
+         * Keep the version added first.
+         */
+        NEAREST,
+
+        /**
+         * Keep the highest version, or the artifact added first if the groupIds or artifactIds differ.
+         */
+        HIGHEST,
+
+        /**
+         * Keep the version added first and report the conflict as a failure.
+         */
+        FAIL;
+
+        /**
+         * Parses the policy ignoring case.
+         *
+         * @param value {@code nearest}, {@code highest} or {@code fail}
+         * @return the policy
+         * @throws IllegalArgumentException if the value is not a policy
+         */
+        static Policy parse(final String value) {
+            try {
+                return valueOf(value.strip().toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown conflict policy " + value
+                    + ", expected nearest, highest or fail", e);
+            }
+        }
+    }
+
+    private final Policy policy;
+
+    private final Map<String, Artifact> selected = new LinkedHashMap<>();
+
+    /**
+     * Origins of all artifacts by target and artifact coordinates.
+     */
+    private final Map<String, Map<String, List<String>>> origins = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty selection.
+     *
+     * @param conflictPolicy the policy resolving conflicts
+     */
+    ArtifactSelection(final Policy conflictPolicy) {
+        this.policy = conflictPolicy;
+    }
+
+
+    /**
+     * Adds the artifact.
+     *
+     * @param artifact the artifact
+     * @param target identifies what the artifact is staged to, ie. the path of the copied file
+     * @param origin what depends on the artifact, used in the report
+     */
+    void add(final Artifact artifact, final String target, final String origin) {
+        origins.computeIfAbsent(target, k -> new LinkedHashMap<>())
+            .computeIfAbsent(artifact.toString(), k -> new ArrayList<>()).add(origin);
+        final Artifact current = selected.get(target);
+        if (current == null || policy == Policy.HIGHEST && isSameArtifact(artifact, current)
+            && new ComparableVersion(artifact.getVersion())
+                .compareTo(new ComparableVersion(current.getVersion())) > 0) {
+            selected.put(target, artifact);
+        }
+    }
+
+
+    /**
+     * Get the selected artifacts.
+     *
+     * @return one artifact for each target, in the order the targets were first added
+     */
+    List<Artifact> getSelected() {
+        return new ArrayList<>(selected.values());
+    }
+
+
+    /**
+     * Describes the conflicts.
+     *
+     * @return one line per conflicting target with the selected and rejected artifacts and their origins
+     */
+    List<String> getConflicts() {
+        final List<String> conflicts = new ArrayList<>();
+        for (final Map.Entry<String, Map<String, List<String>>> target : origins.entrySet()) {
+            if (target.getValue().size() < 2) {
+                continue;
+            }
+            final String artifact = selected.get(target.getKey()).toString();
+            final StringBuilder line = new StringBuilder(target.getKey()).append(": selected ").append(artifact)
+                .append(" from ").append(target.getValue().get(artifact));
+            for (final Map.Entry<String, List<String>> rejected : target.getValue().entrySet()) {
+                if (!rejected.getKey().equals(artifact)) {
+                    line.append(", rejected ").append(rejected.getKey()).append(" from ").append(rejected.getValue());
+                }
+            }
+            conflicts.add(line.toString());
+        }
+        return conflicts;
+    }
+
+
+    private static boolean isSameArtifact(final Artifact artifact, final Artifact other) {
+        return artifact.getGroupId().equals(other.getGroupId())
+            && artifact.getArtifactId().equals(other.getArtifactId());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events of the plugin operations.
+ * <p>
+ * Start the build with {@code MAVEN_OPTS=-XX:StartFlightRecording=filename=build.jfr} to record them.
+ * The events are cheap when the recording is off, their fields are set just if
+ * {@link Event#shouldCommit()} returns {@code true}. Event fields are recorded by the JFR,
+ * so they are accessed directly.
+ */
+@SuppressWarnings("checkstyle:VisibilityModifier")
+final class BuildEvents {
+
+    private static final String CATEGORY = "GlassFish Build";
+
+    private BuildEvents() {
+        // hidden
+    }
+
+
+    /**
+     * Read of a featureset descriptor.
+     */
+    @Name("org.glassfish.build.DescriptorRead")
+    @Label("Featureset Descriptor Read")
+    @Category(CATEGORY)
+    static final class DescriptorRead extends Event {
+
+        @Label("Artifact")
+        String artifact;
+
+        @Label("Dependencies")
+        int dependencies;
+    }
+
+
+    /**
+     * Resolution of dependencies of the featuresets and the project.
+     */
+    @Name("org.glassfish.build.Resolution")
+    @Label("Artifact Resolution")
+    @Category(CATEGORY)
+    static final class Resolution extends Event {
+
+        @Label("Project")
+        String project;
+
+        @Label("Artifacts")
+        int artifacts;
+    }
+
+
+    /**
+     * Copy of an artifact to the stage.
+     */
+    @Name("org.glassfish.build.Copy")
+    @Label("Artifact Copy")
+    @Category(CATEGORY)
+    static final class Copy extends Event {
+
+        @Label("Artifact")
+        String artifact;
+
+        @Label("Destination")
+        String destination;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+
+    /**
+     * Unpack of an artifact to the stage.
+     */
+    @Name("org.glassfish.build.Unpack")
+    @Label("Artifact Unpack")
+    @Category(CATEGORY)
+    static final class Unpack extends Event {
+
+        @Label("Artifact")
+        String artifact;
+
+        @Label("Destination")
+        String destination;
+
+        @Label("Entries")
+        @Description("Number of extracted files")
+        int entries;
+
+        @Label("Bytes")
+        @Description("Size of extracted files, counted only while the event is recorded")
+        @DataAmount
+        long bytes;
+    }
+
+
+    /**
+     * Unpack of an assembly descriptor of the plugin.
+     */
+    @Name("org.glassfish.build.DescriptorUnpack")
+    @Label("Assembly Descriptor Unpack")
+    @Category(CATEGORY)
+    static final class DescriptorUnpack extends Event {
+
+        @Label("Descriptor")
+        String artifact;
+
+        @Label("Destination")
+        String destination;
+    }
+
+
+    /**
+     * Setting of the project main artifact.
+     */
+    @Name("org.glassfish.build.SetMainArtifact")
+    @Label("Set Main Artifact")
+    @Category(CATEGORY)
+    static final class SetMainArtifact extends Event {
+
+        @Label("Artifact")
+        String artifact;
+
+        @Label("Destination")
+        String destination;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
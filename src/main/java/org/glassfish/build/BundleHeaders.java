@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of OSGi manifest headers like {@code Export-Package}.
+ * <p>
+ * A header is a comma separated list of clauses. A clause is a semicolon separated list of paths
+ * followed by attributes ({@code name=value}) and directives ({@code name:=value}). Values may be
+ * quoted, quoted values may contain commas and semicolons.
+ */
+final class BundleHeaders {
+
+    private BundleHeaders() {
+        // hidden
+    }
+
+
+    /**
+     * Parses the header value.
+     *
+     * @param header the header value, may be null
+     * @return parsed clauses, empty if the header is null or empty
+     */
+    static List<Clause> parse(final String header) {
+        final List<Clause> clauses = new ArrayList<>();
+        if (header == null) {
+            return clauses;
+        }
+        for (final String clause : split(header, ',')) {
+            final Clause parsed = new Clause();
+            for (final String part : split(clause, ';')) {
+                final int equals = part.indexOf('=');
+                if (equals < 0) {
+                    parsed.paths.add(part);
+                    continue;
+                }
+                final boolean directive = equals > 0 && part.charAt(equals - 1) == ':';
+                final String name = part.substring(0, directive ? equals - 1 : equals).strip();
+                final String value = unquote(part.substring(equals + 1).strip());
+                (directive ? parsed.directives : parsed.attributes).put(name, value);
+            }
+            if (!parsed.paths.isEmpty()) {
+                clauses.add(parsed);
+            }
+        }
+        return clauses;
+    }
+
+
+    /**
+     * Returns the first path of the first clause, ie. the symbolic name without directives.
+     *
+     * @param header the header value, may be null
+     * @return the first path or null
+     */
+    static String firstPath(final String header) {
+        final List<Clause> clauses = parse(header);
+        return clauses.isEmpty() ? null : clauses.get(0).getPaths().get(0);
+    }
+
+
+    private static List<String> split(final String value, final char separator) {
+        final List<String> parts = new ArrayList<>();
+        final StringBuilder part = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == separator && !quoted) {
+                addPart(parts, part);
+                continue;
+            }
+            part.append(c);
+        }
+        addPart(parts, part);
+        return parts;
+    }
+
+
+    private static void addPart(final List<String> parts, final StringBuilder part) {
+        final String stripped = part.toString().strip();
+        if (!stripped.isEmpty()) {
+            parts.add(stripped);
+        }
+        part.setLength(0);
+    }
+
+
+    private static String unquote(final String value) {
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+
+    /**
+     * A clause of the header.
+     */
+    static final class Clause {
+
+        private final List<String> paths = new ArrayList<>();
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private final Map<String, String> directives = new LinkedHashMap<>();
+
+        /**
+         * Get the paths, ie. package names.
+         *
+         * @return the paths, never empty
+         */
+        List<String> getPaths() {
+            return paths;
+        }
+
+
+        /**
+         * Get the attribute.
+         *
+         * @param name the attribute name
+         * @return the unquoted value or null
+         */
+        String getAttribute(final String name) {
+            return attributes.get(name);
+        }
+
+
+        /**
+         * Get the directive.
+         *
+         * @param name the directive name without the colon
+         * @return the unquoted value or null
+         */
+        String getDirective(final String name) {
+            return directives.get(name);
+        }
+    }
+}
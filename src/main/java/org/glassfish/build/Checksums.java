@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Computes message digests of files.
+ */
+final class Checksums {
+
+    /**
+     * Size of the read buffer, large enough to keep the disk busy.
+     */
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final int HALF_BYTE = 4;
+
+    private static final int HALF_BYTE_MASK = 0xF;
+
+    private Checksums() {
+        // hidden
+    }
+
+
+    /**
+     * Computes all the digests in a single pass over the file.
+     *
+     * @param file the file to read
+     * @param algorithms names of the {@link MessageDigest} algorithms, ie. {@code SHA-256}
+     * @return algorithm name to the lowercase hexadecimal digest, in the order of the algorithms
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if any of the algorithms is not supported
+     */
+    static Map<String, String> digest(final Path file, final List<String> algorithms) throws IOException {
+        final MessageDigest[] digests = new MessageDigest[algorithms.size()];
+        for (int i = 0; i < digests.length; i++) {
+            try {
+                digests[i] = MessageDigest.getInstance(algorithms.get(i));
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException("Unsupported checksum algorithm: " + algorithms.get(i), e);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // small files are common in the stage, allocating a large direct buffer for them costs more than reading
+            final ByteBuffer buffer = channel.size() < BUFFER_SIZE
+                ? ByteBuffer.allocate((int) channel.size() + 1)
+                : ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                for (final MessageDigest digest : digests) {
+                    digest.update(buffer.duplicate());
+                }
+                buffer.clear();
+            }
+        }
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < digests.length; i++) {
+            result.put(algorithms.get(i), toHex(digests[i].digest()));
+        }
+        return result;
+    }
+
+
+    /**
+     * Maven repository file extension of the checksum file for the algorithm.
+     *
+     * @param algorithm ie. {@code SHA-256}
+     * @return ie. {@code sha256}
+     */
+    static String toExtension(final String algorithm) {
+        return algorithm.replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+
+    /**
+     * Converts bytes to a lowercase hexadecimal string.
+     *
+     * @param bytes the bytes to convert
+     * @return the hexadecimal string, two characters per byte
+     */
+    static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> HALF_BYTE) & HALF_BYTE_MASK];
+            chars[i * 2 + 1] = HEX[bytes[i] & HALF_BYTE_MASK];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads names of classes referenced by a class file from its constant pool.
+ * <p>
+ * References are collected from class constants and from type descriptors and signatures.
+ * Strings looking like binary class names are collected too, so classes loaded by reflection are
+ * found as long as their names are constants. The result is an over-approximation, the caller
+ * ignores names of unknown classes.
+ * <p>
+ * The plugin has no bytecode library for this: Jandex, used by the {@code index-annotations} goal,
+ * does not expose the constant pool, and the constant pool is the only part of the class file read here.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+final class ClassReferences {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w$/]+)[;<]");
+    private static final Pattern CLASS_NAME = Pattern.compile("[\\w$]+(\\.[\\w$]+)+");
+
+    private final String className;
+    private final Set<String> references = new TreeSet<>();
+
+    private ClassReferences(final String name) {
+        this.className = name;
+    }
+
+
+    /**
+     * Get the name of the class.
+     *
+     * @return the name with slashes, ie. {@code java/lang/Object}
+     */
+    String getClassName() {
+        return className;
+    }
+
+
+    /**
+     * Get the referenced class names.
+     *
+     * @return names with slashes, may contain names of not existing classes
+     */
+    Set<String> getReferences() {
+        return references;
+    }
+
+
+    /**
+     * Parses the class file.
+     *
+     * @param classFile content of the class file
+     * @return the class name and its references
+     * @throws IOException if the content is not a class file
+     */
+    static ClassReferences parse(final byte[] classFile) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+        final int count = input.readUnsignedShort();
+        final String[] utf8 = new String[count];
+        final int[] classNames = new int[count];
+        for (int i = 1; i < count; i++) {
+            final int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = input.readUTF();
+                    break;
+                case 7:
+                    classNames[i] = input.readUnsignedShort();
+                    if (classNames[i] == 0 || classNames[i] >= count) {
+                        throw new IOException("Invalid class name index " + classNames[i] + " of constant " + i);
+                    }
+                    break;
+                case 8: case 16: case 19: case 20:
+                    input.readUnsignedShort();
+                    break;
+                case 15:
+                    input.readUnsignedByte();
+                    input.readUnsignedShort();
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    input.readInt();
+                    break;
+                case 5: case 6:
+                    input.readLong();
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Invalid constant pool tag " + tag);
+            }
+        }
+        // access flags
+        input.readUnsignedShort();
+        final int thisClass = input.readUnsignedShort();
+        if (thisClass <= 0 || thisClass >= count || utf8[classNames[thisClass]] == null) {
+            throw new IOException("Invalid class name index " + thisClass);
+        }
+        final ClassReferences result = new ClassReferences(utf8[classNames[thisClass]]);
+        for (int i = 1; i < count; i++) {
+            final String name = classNames[i] == 0 ? null : utf8[classNames[i]];
+            if (name != null) {
+                result.addDescriptor(name.startsWith("[") ? name : "L" + name + ";");
+            }
+        }
+        for (final String value : utf8) {
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(';') >= 0) {
+                result.addDescriptor(value);
+            } else if (CLASS_NAME.matcher(value).matches()) {
+                result.references.add(value.replace('.', '/'));
+            }
+        }
+        result.references.remove(result.className);
+        return result;
+    }
+
+
+    private void addDescriptor(final String descriptor) {
+        final Matcher matcher = DESCRIPTOR_TYPE.matcher(descriptor);
+        while (matcher.find()) {
+            references.add(matcher.group(1));
+        }
+    }
+}
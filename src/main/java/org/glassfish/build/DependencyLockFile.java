@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Fully expanded list of the artifacts staged by the {@code featuresets-dependencies} goal.
+ * <p>
+ * The first line holds the format version and the key of the inputs the list was resolved from: the POMs
+ * of the featuresets with their parents and imported BOMs, the direct dependencies of the project and the
+ * plugin configuration. While the key is the same and the resolved files keep their size and last
+ * modification time, the goal stages the locked artifacts without reading descriptors and resolving
+ * artifacts. The file has one tab separated line per artifact: the coordinates, the scope, if it is a direct
+ * dependency of the project, the size, the last modification time in milliseconds, the SHA-256 checksum,
+ * the target relative to the stage directory, the resolved path and the comma separated coordinates
+ * of the featuresets depending on it.
+ */
+final class DependencyLockFile {
+
+    private static final String HEADER = "# featuresets-dependencies lock 2 ";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final int FIELDS = 9;
+
+    private final String key;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Creates an empty lock file.
+     *
+     * @param inputsKey key of the inputs the artifacts are resolved from
+     */
+    DependencyLockFile(final String inputsKey) {
+        this.key = inputsKey;
+    }
+
+
+    /**
+     * Get the key of the inputs the artifacts were resolved from.
+     *
+     * @return the key
+     */
+    String getKey() {
+        return key;
+    }
+
+
+    /**
+     * Adds the staged artifact.
+     *
+     * @param entry the locked artifact
+     */
+    void add(final Entry entry) {
+        entries.add(entry);
+    }
+
+
+    /**
+     * Get the locked artifacts.
+     *
+     * @return unmodifiable list of artifacts in the order they were added
+     */
+    List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+
+    /**
+     * Reads the lock file.
+     *
+     * @param file the lock file
+     * @return the lock file, {@code null} if the file does not exist
+     * @throws IOException if the file cannot be read, is invalid or has an older format
+     */
+    static DependencyLockFile read(final File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        final List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).startsWith(HEADER)) {
+            throw new IOException("Invalid header of " + file);
+        }
+        final DependencyLockFile lock = new DependencyLockFile(lines.get(0).substring(HEADER.length()));
+        for (final String line : lines.subList(1, lines.size())) {
+            final String[] fields = line.split(SEPARATOR, FIELDS);
+            if (fields.length != FIELDS) {
+                throw new IOException("Invalid line of " + file + ": " + line);
+            }
+            try {
+                lock.add(new Entry(new DefaultArtifact(fields[0]), fields[1], Boolean.parseBoolean(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]), fields[5], fields[6], new File(fields[7]),
+                    fields[8].isEmpty() ? List.of() : Arrays.asList(fields[8].split(","))));
+            } catch (final IllegalArgumentException e) {
+                throw new IOException("Invalid line of " + file + ": " + line, e);
+            }
+        }
+        return lock;
+    }
+
+
+    /**
+     * Writes the lock file atomically.
+     *
+     * @param file the lock file
+     * @throws IOException if the file cannot be written
+     */
+    void write(final File file) throws IOException {
+        final StringBuilder content = new StringBuilder(HEADER).append(key).append('\n');
+        for (final Entry entry : entries) {
+            content.append(entry.artifact).append(SEPARATOR).append(entry.scope).append(SEPARATOR)
+                .append(entry.direct).append(SEPARATOR).append(entry.size).append(SEPARATOR)
+                .append(entry.lastModified).append(SEPARATOR).append(entry.checksum).append(SEPARATOR)
+                .append(entry.target).append(SEPARATOR).append(entry.file.getPath()).append(SEPARATOR)
+                .append(String.join(",", entry.featureSets)).append('\n');
+        }
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        StagingLocks.writeAtomically(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)),
+            file.toPath());
+    }
+
+
+    /**
+     * A locked artifact.
+     */
+    static final class Entry {
+
+        private final Artifact artifact;
+        private final String scope;
+        private final boolean direct;
+        private final long size;
+        private final long lastModified;
+        private final String checksum;
+        private final String target;
+        private final File file;
+        private final List<String> featureSets;
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        Entry(final Artifact lockedArtifact, final String lockedScope, final boolean directDependency,
+            final long fileSize, final long fileLastModified, final String sha256, final String stageTarget,
+            final File resolvedFile, final List<String> dependingFeatureSets) {
+            this.artifact = lockedArtifact;
+            this.scope = lockedScope;
+            this.direct = directDependency;
+            this.size = fileSize;
+            this.lastModified = fileLastModified;
+            this.checksum = sha256;
+            this.target = stageTarget;
+            this.file = resolvedFile;
+            this.featureSets = dependingFeatureSets;
+        }
+
+
+        /**
+         * Get the locked artifact with the resolved file.
+         *
+         * @return the artifact
+         */
+        Artifact getArtifact() {
+            return artifact.setFile(file);
+        }
+
+
+        /**
+         * Get the scope of the dependency.
+         *
+         * @return the scope
+         */
+        String getScope() {
+            return scope;
+        }
+
+
+        /**
+         * Check if the artifact is a direct dependency of the project.
+         *
+         * @return {@code true} for direct dependencies, which may also be dependencies of featuresets
+         */
+        boolean isDirect() {
+            return direct;
+        }
+
+
+        /**
+         * Get the coordinates of the featuresets depending on the artifact.
+         *
+         * @return list of coordinates
+         */
+        List<String> getFeatureSets() {
+            return featureSets;
+        }
+
+
+        /**
+         * Check if the resolved file still exists with the locked size and last modification time.
+         * The checksum is not computed again, a file replaced in place gets a new modification time.
+         *
+         * @return {@code true} if the file can be staged
+         */
+        boolean isAvailable() {
+            return file.isFile() && file.length() == size && file.lastModified() == lastModified;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2017, 2022 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,9 +17,20 @@
 
 package org.glassfish.build;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import org.eclipse.aether.artifact.Artifact;
+
 /**
- * Configuration of dependency mapping to name.
- * This allows customizing names of dependencies unpacked.
+ * Configuration of dependency mapping to name and target directory.
+ * This allows customizing names of dependencies unpacked and placing them directly
+ * to their final location in the stage directory.
+ * <p>
+ * The mapping applies to dependencies matching all of the configured groupId, artifactId and type.
+ * The artifactId is required and may contain {@code *} and {@code ?} wildcards, so {@code *} maps
+ * all artifacts of the groupId. The unset groupId and type match any dependency.
  */
 public final class DependencyMapping {
 
@@ -33,11 +44,26 @@ public final class DependencyMapping {
      */
     private String artifactId;
 
+    /**
+     * The type (file extension) of the dependency.
+     */
+    private String type;
+
     /**
      * The mapped name of the dependency.
      */
     private String name;
 
+    /**
+     * The directory relative to the stage directory where the dependency is copied or unpacked.
+     */
+    private String directory;
+
+    /**
+     * The artifactId converted to a regular expression.
+     */
+    private Pattern artifactIdPattern;
+
     /**
      * Set the artifactId of the dependency.
      *
@@ -45,6 +71,7 @@ public final class DependencyMapping {
      */
     public void setArtifactId(final String depArtifactId) {
         this.artifactId = depArtifactId;
+        this.artifactIdPattern = null;
     }
 
 
@@ -96,4 +123,106 @@ public final class DependencyMapping {
     public String getName() {
         return name;
     }
+
+
+    /**
+     * Set the type (file extension) of the dependency.
+     *
+     * @param depType the type, ie. {@code jar}
+     */
+    public void setType(final String depType) {
+        this.type = depType;
+    }
+
+
+    /**
+     * Get the type (file extension) of the dependency.
+     *
+     * @return the type
+     */
+    public String getType() {
+        return type;
+    }
+
+
+    /**
+     * Set the target directory of the dependency.
+     *
+     * @param depDirectory the directory relative to the stage directory, ie. {@code glassfish/modules}
+     */
+    public void setDirectory(final String depDirectory) {
+        this.directory = depDirectory;
+    }
+
+
+    /**
+     * Get the target directory of the dependency.
+     *
+     * @return the directory relative to the stage directory
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+
+    /**
+     * Match the artifact against the groupId, artifactId and type of this mapping.
+     *
+     * @param artifact the artifact to match
+     * @return {@code true} if all configured values match the artifact, {@code false} if the artifactId
+     *         is not set
+     */
+    boolean matches(final Artifact artifact) {
+        if (!isSet(artifactId)) {
+            return false;
+        }
+        if (isSet(groupId) && !groupId.equals(artifact.getGroupId())) {
+            return false;
+        }
+        if (isSet(type) && !type.equals(artifact.getExtension())) {
+            return false;
+        }
+        if (artifactIdPattern == null) {
+            artifactIdPattern = toPattern(artifactId);
+        }
+        return artifactIdPattern.matcher(artifact.getArtifactId()).matches();
+    }
+
+
+    /**
+     * Resolve the target directory against the stage directory.
+     *
+     * @param stageDirectory the stage directory
+     * @return the normalized directory
+     * @throws IllegalArgumentException if the directory is not inside of the stage directory
+     */
+    File resolveDirectory(final File stageDirectory) {
+        final Path stage = stageDirectory.toPath().toAbsolutePath().normalize();
+        final Path resolved = stage.resolve(directory).normalize();
+        if (!resolved.startsWith(stage)) {
+            throw new IllegalArgumentException("The directory " + directory + " of the mapping of " + groupId + ":"
+                + artifactId + " is not inside of the stage directory " + stageDirectory);
+        }
+        return resolved.toFile();
+    }
+
+
+    private static boolean isSet(final String value) {
+        return value != null && !value.isEmpty();
+    }
+
+
+    private static Pattern toPattern(final String wildcard) {
+        final StringBuilder regex = new StringBuilder();
+        for (final char c : wildcard.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
 }
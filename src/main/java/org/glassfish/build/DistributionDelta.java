@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+import org.glassfish.build.zip.ZipWriter;
+
+/**
+ * Delta between two versions of a distribution zip.
+ * <p>
+ * The delta is a zip archive with an index of the new distribution entries. Each entry is either
+ * <ul>
+ * <li>kept - its data are copied raw from the base distribution,
+ * <li>added - its raw compressed data is stored in the delta,
+ * <li>patched - an archive entry, its {@link ArchivePatch} against the base version is stored in the delta.
+ * </ul>
+ * Entries are compared by their CRC-32 and size from the central directories.
+ * The rebuilt distribution has the same entries in the same order with the same content and attributes,
+ * however the zip headers are normalized and patched archives are compressed again, so the zip file
+ * itself is not necessarily byte to byte identical with the original.
+ */
+final class DistributionDelta {
+
+    private static final String INDEX = "delta.index";
+    private static final String DATA = "data/";
+    private static final String PATCH = "patch/";
+    private static final String HEADER = "# glassfish distribution delta 1";
+    private static final String BASE_SIZE = "base.size=";
+    private static final String BASE_SHA256 = "base.sha256=";
+    private static final String SHA256 = "SHA-256";
+    private static final String KEEP = "K";
+    private static final String ADD = "A";
+    private static final String PATCHED = "P";
+    private static final String REMOVE = "R";
+    private static final String SEPARATOR = "\t";
+    private static final int HEX_RADIX = 16;
+
+    private int kept;
+    private int added;
+    private int patched;
+    private int removed;
+
+    /**
+     * Creates the delta.
+     *
+     * @param base the previous distribution
+     * @param current the new distribution
+     * @param delta the delta file to create
+     * @param archiveTypes extensions of entries which are patched instead of added when they change
+     * @throws IOException if any of the files cannot be read or written, or the new distribution
+     *         has duplicate entries
+     */
+    void create(final Path base, final Path current, final Path delta, final List<String> archiveTypes)
+        throws IOException {
+        final List<String> index = new ArrayList<>();
+        index.add(HEADER);
+        index.add(BASE_SIZE + Files.size(base));
+        index.add(BASE_SHA256 + Checksums.digest(base, List.of(SHA256)).get(SHA256));
+        try (ZipReader baseZip = new ZipReader(base); ZipReader currentZip = new ZipReader(current);
+            ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(delta))) {
+            if (!currentZip.getDuplicates().isEmpty()) {
+                throw new IOException("Duplicate entries " + currentZip.getDuplicates() + " in " + current
+                    + " cannot be rebuilt from a delta");
+            }
+            int number = 0;
+            for (final RawZipEntry entry : currentZip.getEntries()) {
+                checkName(entry.getName());
+                final RawZipEntry baseEntry = baseZip.getEntry(entry.getName());
+                if (baseEntry != null && baseEntry.getCrc() == entry.getCrc()
+                    && baseEntry.getSize() == entry.getSize()) {
+                    index.add(String.join(SEPARATOR, KEEP, "-", describe(entry)));
+                    kept++;
+                    continue;
+                }
+                number++;
+                final byte[] patch = baseEntry == null || entry.isDirectory()
+                    || !StageFiles.hasExtension(Path.of(entry.getName()), archiveTypes)
+                    ? null : createPatch(baseZip, baseEntry, currentZip, entry);
+                if (patch != null && patch.length < entry.getCompressedSize()) {
+                    output.setLevel(Deflater.DEFAULT_COMPRESSION);
+                    output.putNextEntry(new ZipEntry(PATCH + number));
+                    output.write(patch);
+                    index.add(String.join(SEPARATOR, PATCHED, Integer.toString(number), describe(entry)));
+                    patched++;
+                } else {
+                    // already compressed
+                    output.setLevel(Deflater.NO_COMPRESSION);
+                    output.putNextEntry(new ZipEntry(DATA + number));
+                    currentZip.copyRaw(entry, output);
+                    index.add(String.join(SEPARATOR, ADD, Integer.toString(number), describe(entry)));
+                    added++;
+                }
+                output.closeEntry();
+            }
+            for (final RawZipEntry entry : baseZip.getEntries()) {
+                if (currentZip.getEntry(entry.getName()) == null) {
+                    index.add(String.join(SEPARATOR, REMOVE, entry.getName()));
+                    removed++;
+                }
+            }
+            output.setLevel(Deflater.DEFAULT_COMPRESSION);
+            output.putNextEntry(new ZipEntry(INDEX));
+            output.write(String.join("\n", index).getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+        }
+    }
+
+
+    /**
+     * Rebuilds the new distribution from the base distribution and the delta.
+     *
+     * @param base the previous distribution, must be the same as the one used to create the delta
+     * @param delta the delta
+     * @param target the new distribution to create
+     * @throws IOException if any of the files cannot be read or written, or the base does not match
+     */
+    void apply(final Path base, final Path delta, final Path target) throws IOException {
+        try (ZipFile deltaZip = new ZipFile(delta.toFile())) {
+            final ZipEntry indexEntry = deltaZip.getEntry(INDEX);
+            if (indexEntry == null) {
+                throw new IOException("Not a distribution delta: " + delta);
+            }
+            final List<String> index;
+            try (InputStream input = deltaZip.getInputStream(indexEntry)) {
+                index = List.of(new String(input.readAllBytes(), StandardCharsets.UTF_8).split("\n"));
+            }
+            if (index.size() < 3 || !HEADER.equals(index.get(0))) {
+                throw new IOException("Unsupported distribution delta format: " + delta);
+            }
+            checkBase(base, index.get(1), index.get(2));
+            try (ZipReader baseZip = new ZipReader(base);
+                ZipWriter output = new ZipWriter(Files.newOutputStream(target))) {
+                for (final String line : index.subList(3, index.size())) {
+                    final String[] fields = line.split(SEPARATOR, -1);
+                    switch (fields[0]) {
+                        case KEEP:
+                            applyKept(baseZip, fields, output);
+                            kept++;
+                            break;
+                        case ADD:
+                            applyAdded(deltaZip, fields, output);
+                            added++;
+                            break;
+                        case PATCHED:
+                            applyPatch(baseZip, deltaZip, fields, output);
+                            patched++;
+                            break;
+                        case REMOVE:
+                            removed++;
+                            break;
+                        default:
+                            throw new IOException("Invalid delta index line: " + line);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of entries copied from the base.
+     *
+     * @return the number of kept entries
+     */
+    int getKept() {
+        return kept;
+    }
+
+
+    /**
+     * Get the number of entries stored in the delta.
+     *
+     * @return the number of added and changed entries
+     */
+    int getAdded() {
+        return added;
+    }
+
+
+    /**
+     * Get the number of archive entries stored as patches.
+     *
+     * @return the number of patched entries
+     */
+    int getPatched() {
+        return patched;
+    }
+
+
+    /**
+     * Get the number of base entries not present in the new distribution.
+     *
+     * @return the number of removed entries
+     */
+    int getRemoved() {
+        return removed;
+    }
+
+
+    private static byte[] createPatch(final ZipReader baseZip, final RawZipEntry baseEntry,
+        final ZipReader currentZip, final RawZipEntry entry) throws IOException {
+        final Path baseArchive = extract(baseZip, baseEntry);
+        try {
+            final Path currentArchive = extract(currentZip, entry);
+            try {
+                final ByteArrayOutputStream patch = new ByteArrayOutputStream();
+                ArchivePatch.create(baseArchive, currentArchive, patch);
+                return patch.toByteArray();
+            } catch (final IOException e) {
+                // not a zip archive we can read, store the whole entry
+                return null;
+            } finally {
+                Files.delete(currentArchive);
+            }
+        } finally {
+            Files.delete(baseArchive);
+        }
+    }
+
+
+    private static void applyAdded(final ZipFile deltaZip, final String[] fields, final ZipWriter output)
+        throws IOException {
+        final ZipEntry data = deltaZip.getEntry(DATA + fields[1]);
+        final RawZipEntry entry = parse(fields);
+        entry.setCompressedSize(data.getSize());
+        try (InputStream input = deltaZip.getInputStream(data)) {
+            input.transferTo(output.startEntry(entry));
+        }
+    }
+
+
+    private static void applyPatch(final ZipReader baseZip, final ZipFile deltaZip, final String[] fields,
+        final ZipWriter output) throws IOException {
+        final RawZipEntry entry = parse(fields);
+        final Path baseArchive = extract(baseZip, baseZip.getEntry(entry.getName()));
+        final Path patchedArchive = Files.createTempFile("gfbuild-delta", ".patched");
+        final Path compressed = Files.createTempFile("gfbuild-delta", ".deflated");
+        try {
+            final CRC32 crc = new CRC32();
+            try (InputStream patch = deltaZip.getInputStream(deltaZip.getEntry(PATCH + fields[1]));
+                OutputStream target = Files.newOutputStream(patchedArchive)) {
+                ArchivePatch.apply(baseArchive, patch, target);
+            }
+            final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try (InputStream input = new CheckedInputStream(Files.newInputStream(patchedArchive), crc);
+                OutputStream target = new DeflaterOutputStream(Files.newOutputStream(compressed), deflater)) {
+                input.transferTo(target);
+            } finally {
+                deflater.end();
+            }
+            if (crc.getValue() != entry.getCrc() || Files.size(patchedArchive) != entry.getSize()) {
+                throw new IOException("Patched " + entry.getName() + " does not match the expected checksum");
+            }
+            entry.setMethod(ZipEntry.DEFLATED);
+            entry.setCompressedSize(Files.size(compressed));
+            Files.copy(compressed, output.startEntry(entry));
+        } finally {
+            Files.delete(baseArchive);
+            Files.delete(patchedArchive);
+            Files.delete(compressed);
+        }
+    }
+
+
+    /**
+     * The data are copied from the base, but the time and attributes may differ.
+     */
+    private static void applyKept(final ZipReader baseZip, final String[] fields, final ZipWriter output)
+        throws IOException {
+        final RawZipEntry entry = parse(fields);
+        final RawZipEntry baseEntry = baseZip.getEntry(entry.getName());
+        if (baseEntry == null || baseEntry.getCrc() != entry.getCrc() || baseEntry.getSize() != entry.getSize()) {
+            throw new IOException("Base entry " + entry.getName() + " does not match the delta");
+        }
+        entry.setMethod(baseEntry.getMethod());
+        entry.setCompressedSize(baseEntry.getCompressedSize());
+        baseZip.copyRaw(baseEntry, output.startEntry(entry));
+    }
+
+
+    private static Path extract(final ZipReader zip, final RawZipEntry entry) throws IOException {
+        final Path file = Files.createTempFile("gfbuild-delta", ".entry");
+        try (InputStream input = zip.openContent(entry)) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+
+    private static void checkBase(final Path base, final String size, final String sha256) throws IOException {
+        if (!size.equals(BASE_SIZE + Files.size(base))) {
+            throw new IOException("The delta was created for another base distribution, expected " + size);
+        }
+        final Map<String, String> digest = Checksums.digest(base, List.of(SHA256));
+        if (!sha256.equals(BASE_SHA256 + digest.get(SHA256))) {
+            throw new IOException("The delta was created for another base distribution, expected " + sha256);
+        }
+    }
+
+
+    private static void checkName(final String name) throws IOException {
+        if (name.contains(SEPARATOR) || name.contains("\n")) {
+            throw new IOException("Unsupported entry name: " + name);
+        }
+    }
+
+
+    /**
+     * Fields of the new entry, except the compressed size which is known from the data.
+     */
+    private static String describe(final RawZipEntry entry) {
+        return String.join(SEPARATOR, entry.getName(), Integer.toString(entry.getMethod()),
+            Long.toString(entry.getDosTime()), Long.toString(entry.getCrc()), Long.toString(entry.getSize()),
+            Long.toString(entry.getExternalAttributes()), Checksums.toHex(entry.getExtra()),
+            Checksums.toHex(entry.getCentralExtra()));
+    }
+
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static RawZipEntry parse(final String[] fields) throws IOException {
+        if (fields.length != 10) {
+            throw new IOException("Invalid delta index line: " + String.join(SEPARATOR, fields));
+        }
+        final RawZipEntry entry = new RawZipEntry();
+        entry.setName(fields[2]);
+        entry.setMethod(Integer.parseInt(fields[3]));
+        entry.setDosTime(Long.parseLong(fields[4]));
+        entry.setCrc(Long.parseLong(fields[5]));
+        entry.setSize(Long.parseLong(fields[6]));
+        entry.setExternalAttributes(Long.parseLong(fields[7]));
+        entry.setExtra(fromHex(fields[8]));
+        entry.setCentralExtra(fromHex(fields[9]));
+        return entry;
+    }
+
+
+    private static byte[] fromHex(final String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), HEX_RADIX);
+        }
+        return bytes;
+    }
+}
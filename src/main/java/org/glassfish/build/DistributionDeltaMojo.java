@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Creates a delta between the distribution zip and its previous version.
+ * <p>
+ * The previous version is taken from the {@code previousFile} or from the local repository
+ * by the {@code previousVersion}, nothing is downloaded. The delta can be turned back into the new
+ * distribution by the {@code apply-distribution-delta} goal.
+ *
+ * @see ApplyDistributionDeltaMojo
+ */
+@Mojo(name = "distribution-delta", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class DistributionDeltaMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "distributionDelta.";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The current repository/network configuration of Maven.
+     */
+    @Parameter(defaultValue = "${repositorySystemSession}", readonly = true)
+    private RepositorySystemSession repoSession;
+
+    /**
+     * Used to attach the delta to the project.
+     */
+    @Component
+    private MavenProjectHelper projectHelper;
+
+    /**
+     * The new distribution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "file",
+        defaultValue = "${project.build.directory}/${project.build.finalName}.zip")
+    private File file;
+
+    /**
+     * The previous distribution. Has precedence over the {@code previousVersion}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "previousFile")
+    private File previousFile;
+
+    /**
+     * Version of the previous distribution of this project in the local repository.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "previousVersion")
+    private String previousVersion;
+
+    /**
+     * The delta file to create.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "deltaFile",
+        defaultValue = "${project.build.directory}/${project.build.finalName}-delta.zip")
+    private File deltaFile;
+
+    /**
+     * Comma separated list of file extensions of entries which are patched when they change.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar,war,rar")
+    private List<String> archiveTypes;
+
+    /**
+     * If set, the delta is attached to the project with this classifier.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "classifier")
+    private String classifier;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final File previous = resolvePrevious();
+        if (!file.isFile()) {
+            throw new MojoExecutionException("The distribution " + file + " does not exist.");
+        }
+        final DistributionDelta delta = new DistributionDelta();
+        try {
+            deltaFile.getParentFile().mkdirs();
+            delta.create(previous.toPath(), file.toPath(), deltaFile.toPath(), archiveTypes);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to create delta of " + previous + " and " + file, e);
+        }
+        getLog().info("Created " + deltaFile + " (" + deltaFile.length() + " B) from " + previous + ": "
+            + delta.getKept() + " kept, " + delta.getAdded() + " added, " + delta.getPatched() + " patched, "
+            + delta.getRemoved() + " removed entries");
+        if (classifier != null && !classifier.isEmpty()) {
+            projectHelper.attachArtifact(project, "zip", classifier, deltaFile);
+        }
+    }
+
+
+    private File resolvePrevious() throws MojoExecutionException {
+        final File previous;
+        if (previousFile != null) {
+            previous = previousFile;
+        } else if (previousVersion != null && !previousVersion.isEmpty()) {
+            final DefaultArtifact artifact = new DefaultArtifact(project.getGroupId(), project.getArtifactId(),
+                "zip", previousVersion);
+            previous = new File(repoSession.getLocalRepository().getBasedir(),
+                repoSession.getLocalRepositoryManager().getPathForLocalArtifact(artifact));
+        } else {
+            throw new MojoExecutionException("Either previousFile or previousVersion must be set.");
+        }
+        if (!previous.isFile()) {
+            throw new MojoExecutionException("The previous distribution " + previous + " does not exist.");
+        }
+        return previous;
+    }
+}
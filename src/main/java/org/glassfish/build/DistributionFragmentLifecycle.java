@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -27,7 +27,7 @@ import org.apache.maven.lifecycle.mapping.LifecyclePhase;
 import org.codehaus.plexus.component.annotations.Component;
 
 import static org.glassfish.build.LifecyclePhaseHelper.createAssemblyCfg;
-import static org.glassfish.build.LifecyclePhaseHelper.createGenerateResourcesPhase;
+import static org.glassfish.build.LifecyclePhaseHelper.createGenerateAssemblyDescriptorCfg;
 import static org.glassfish.build.LifecyclePhaseHelper.createLifecycle;
 import static org.glassfish.build.LifecyclePhaseHelper.createSetMainArtifactCfg;
 
@@ -49,7 +49,6 @@ public class DistributionFragmentLifecycle extends DefaultLifecycleMapping {
 
     private static Map<String, LifecyclePhase> createPhases() {
         final Map<String, LifecyclePhase> phases = new HashMap<>();
-        phases.put("generate-resources", createGenerateResourcesPhase(DESCRIPTOR_FILENAME));
         phases.put("process-resources",
             new LifecyclePhase("org.apache.maven.plugins:maven-resources-plugin:resources"));
         phases.put("package", createPackagePhase());
@@ -61,13 +60,17 @@ public class DistributionFragmentLifecycle extends DefaultLifecycleMapping {
 
     private static LifecyclePhase createPackagePhase() {
         final LifecyclePhase packagePhase = new LifecyclePhase(
-            "org.apache.maven.plugins:maven-assembly-plugin:single,"
+            "org.glassfish.build:glassfishbuild-maven-plugin:generate-assembly-descriptor,"
+            + "org.apache.maven.plugins:maven-assembly-plugin:single,"
             + "org.glassfish.build:glassfishbuild-maven-plugin:set-main-artifact");
 
-        final LifecycleMojo assemblyMojo = packagePhase.getMojos().get(0);
+        final LifecycleMojo descriptorMojo = packagePhase.getMojos().get(0);
+        descriptorMojo.setConfiguration(createGenerateAssemblyDescriptorCfg(descriptorMojo, DESCRIPTOR_FILENAME));
+
+        final LifecycleMojo assemblyMojo = packagePhase.getMojos().get(1);
         assemblyMojo.setConfiguration(createAssemblyCfg(assemblyMojo, DESCRIPTOR_FILENAME));
 
-        final LifecycleMojo setMainArtifactMojo = packagePhase.getMojos().get(1);
+        final LifecycleMojo setMainArtifactMojo = packagePhase.getMojos().get(2);
         setMainArtifactMojo.setConfiguration(createSetMainArtifactCfg(setMainArtifactMojo));
         return packagePhase;
     }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.codehaus.plexus.util.SelectorUtils;
+import org.glassfish.build.transform.EntryTransformer;
+import org.glassfish.build.transform.LineEndingTransformer;
+import org.glassfish.build.transform.PermissionsTransformer;
+import org.glassfish.build.transform.PropertyFilterTransformer;
+
+/**
+ * Configuration of a transformation of unpacked entries.
+ * <p>
+ * The type is one of the built-in transformers {@code filter}, {@code lineEndings}
+ * and {@code permissions}, or a class name of an {@link EntryTransformer} implementation available
+ * in the plugin dependencies.
+ */
+public final class EntryTransform {
+
+    /**
+     * Include patterns of entry paths, ie. {@code glassfish/config/**}. Empty list includes all entries.
+     */
+    private List<String> includes = Collections.emptyList();
+
+    /**
+     * Exclude patterns of entry paths.
+     */
+    private List<String> excludes = Collections.emptyList();
+
+    /**
+     * The transformer type.
+     */
+    private String type;
+
+    /**
+     * Properties of the transformer, these override project properties.
+     */
+    private Properties properties = new Properties();
+
+    /**
+     * The configured transformer.
+     */
+    private EntryTransformer transformer;
+
+    /**
+     * Set the include patterns.
+     *
+     * @param transformIncludes the patterns of entry paths
+     */
+    public void setIncludes(final List<String> transformIncludes) {
+        this.includes = transformIncludes;
+    }
+
+
+    /**
+     * Get the include patterns.
+     *
+     * @return the patterns of entry paths
+     */
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+
+    /**
+     * Set the exclude patterns.
+     *
+     * @param transformExcludes the patterns of entry paths
+     */
+    public void setExcludes(final List<String> transformExcludes) {
+        this.excludes = transformExcludes;
+    }
+
+
+    /**
+     * Get the exclude patterns.
+     *
+     * @return the patterns of entry paths
+     */
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+
+    /**
+     * Set the transformer type.
+     *
+     * @param transformType built-in transformer name or class name
+     */
+    public void setType(final String transformType) {
+        this.type = transformType;
+    }
+
+
+    /**
+     * Get the transformer type.
+     *
+     * @return built-in transformer name or class name
+     */
+    public String getType() {
+        return type;
+    }
+
+
+    /**
+     * Set the transformer properties.
+     *
+     * @param transformProperties the properties
+     */
+    public void setProperties(final Properties transformProperties) {
+        this.properties = transformProperties;
+    }
+
+
+    /**
+     * Get the transformer properties.
+     *
+     * @return the properties
+     */
+    public Properties getProperties() {
+        return properties;
+    }
+
+
+    /**
+     * Creates and configures the transformer.
+     *
+     * @param projectProperties properties of the project, overridden by the transform properties
+     * @throws IllegalArgumentException if the transformer cannot be created or configured
+     */
+    void initialize(final Properties projectProperties) {
+        final Properties merged = new Properties();
+        merged.putAll(projectProperties);
+        if (properties != null) {
+            merged.putAll(properties);
+        }
+        transformer = createTransformer();
+        transformer.configure(merged);
+    }
+
+
+    /**
+     * Get the configured transformer.
+     *
+     * @return the transformer, {@code null} before {@link #initialize(Properties)}
+     */
+    EntryTransformer getTransformer() {
+        return transformer;
+    }
+
+
+    /**
+     * Match the entry path against the include and exclude patterns.
+     *
+     * @param path the entry path, separated by slashes
+     * @return {@code true} if the path is included and not excluded
+     */
+    boolean matches(final String path) {
+        if (includes != null && !includes.isEmpty()
+            && includes.stream().noneMatch(pattern -> SelectorUtils.matchPath(pattern, path))) {
+            return false;
+        }
+        return excludes == null || excludes.stream().noneMatch(pattern -> SelectorUtils.matchPath(pattern, path));
+    }
+
+
+    private EntryTransformer createTransformer() {
+        if (type == null || type.isEmpty()) {
+            throw new IllegalArgumentException("The transform type is not set");
+        }
+        switch (type) {
+            case "filter":
+                return new PropertyFilterTransformer();
+            case "lineEndings":
+                return new LineEndingTransformer();
+            case "permissions":
+                return new PermissionsTransformer();
+            default:
+                try {
+                    return Class.forName(type, true, EntryTransform.class.getClassLoader())
+                        .asSubclass(EntryTransformer.class).getConstructor().newInstance();
+                } catch (final ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Cannot create entry transformer " + type, e);
+                }
+        }
+    }
+}
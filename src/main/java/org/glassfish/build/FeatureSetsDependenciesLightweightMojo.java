@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Same as {@code featuresets-dependencies} without resolving the project dependencies first.
+ * The featuresets are read from the declared dependencies of the project, thus only the direct
+ * featuresets are staged; only the artifacts that are copied or unpacked are resolved.
+ * Like the compile scope resolution of {@code featuresets-dependencies}, just the featuresets
+ * in the compile, provided and system scopes are staged.
+ */
+@Mojo(
+    name = "featuresets-dependencies-lightweight",
+    requiresProject = true,
+    threadSafe = true,
+    defaultPhase = LifecyclePhase.PROCESS_RESOURCES)
+public final class FeatureSetsDependenciesLightweightMojo extends FeatureSetsDependenciesMojo {
+
+    /**
+     * Scopes resolved by {@code featuresets-dependencies}, the compile scope is the default.
+     */
+    private static final List<String> SCOPES = List.of("", "compile", "provided", "system");
+
+    @Override
+    protected List<Artifact> getFeatureSets(final MavenProject mavenProject, final List<String> groupIds) {
+        final List<Artifact> featureSets = new ArrayList<>();
+        for (final Dependency dependency : mavenProject.getDependencies()) {
+            final String scope = dependency.getScope() == null ? "" : dependency.getScope();
+            if (groupIds.contains(dependency.getGroupId()) && SCOPES.contains(scope)) {
+                featureSets.add(new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getClassifier(), dependency.getType(), dependency.getVersion()));
+            }
+        }
+        return featureSets;
+    }
+}
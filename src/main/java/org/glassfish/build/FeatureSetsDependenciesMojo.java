@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2017, 2022 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,16 +19,29 @@ package org.glassfish.build;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -41,6 +54,7 @@ import org.codehaus.plexus.archiver.UnArchiver;
 import org.codehaus.plexus.archiver.manager.ArchiverManager;
 import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
 import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+import org.codehaus.plexus.util.SelectorUtils;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
@@ -63,13 +77,19 @@ import org.eclipse.aether.resolution.ArtifactResult;
     threadSafe = true,
     requiresDependencyResolution = ResolutionScope.COMPILE,
     defaultPhase = LifecyclePhase.PROCESS_RESOURCES)
-public final class FeatureSetsDependenciesMojo extends AbstractMojo {
+public class FeatureSetsDependenciesMojo extends AbstractMojo {
 
     /**
      * Parameters property prefix.
      */
     private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "featuresets.dependencies.";
 
+    /**
+     * Extensions of zip archives, extracted by the {@link ArchiveExtractor} when transforms are configured
+     * and verified after staging.
+     */
+    private static final List<String> ZIP_TYPES = List.of("zip", "jar", "war", "rar");
+
     /**
      * The entry point to Aether.
      */
@@ -163,11 +183,101 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
     private final List<String> featureSetGroupIdIncludes = Collections.emptyList();
 
     /**
-     * Custom mappings.
+     * Custom mappings of names and target directories.
+     * The first matching mapping with a name sets the name, the first matching mapping with a directory
+     * sets the directory. Dependencies without a matching directory are staged directly to
+     * the stage directory.
      */
     @Parameter
     private List<DependencyMapping> mappings;
 
+    /**
+     * Transformations applied to entries of unpacked zip archives as they are extracted.
+     * Each transform selects entries by include and exclude path patterns.
+     *
+     * @see EntryTransform
+     */
+    @Parameter
+    private List<EntryTransform> transforms;
+
+    /**
+     * If {@code true}, entries matching {@code slimExcludes} are removed from copied zip archives, ie. jars.
+     * Entries are copied without recompression, signed archives are copied unchanged.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "slimJars", defaultValue = "false")
+    private boolean slimJars;
+
+    /**
+     * Comma separated list of path patterns of entries removed from copied archives if {@code slimJars}
+     * is {@code true}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "slimExcludes", defaultValue = "META-INF/maven/**")
+    private List<String> slimExcludes;
+
+    /**
+     * File listing the staged files and their sources, used by the {@code verify-stage} goal.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    /**
+     * If {@code true}, the stage directory is verified after staging, see the {@code verify-stage} goal.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "verify", defaultValue = "true")
+    private boolean verify;
+
+    /**
+     * Number of threads verifying the stage. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "verifyThreads", defaultValue = "0")
+    private int verifyThreads;
+
+    /**
+     * If {@code true}, artifact descriptors and resolved artifacts are cached for the lifetime of the JVM
+     * and reused while their files are unchanged. Useful with long-lived JVMs such as the Maven daemon.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "resolverCache", defaultValue = "true")
+    private boolean resolverCache;
+
+    /**
+     * How to handle different artifacts staged to the same target: different versions of an artifact,
+     * or different artifacts copied to the same file, ie. by mappings. Artifacts unpacked to the same
+     * directory do not conflict unless they have the same groupId, artifactId, classifier and extension.
+     * {@code nearest} keeps the direct dependency of the project or the dependency of the first declared
+     * featureset, {@code highest} keeps the highest version of the same artifact, {@code fail} fails
+     * the build. Each artifact is resolved and staged once.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "conflictPolicy", defaultValue = "nearest")
+    private String conflictPolicy;
+
+    /**
+     * Report of the conflicts, one line per target with the selected and rejected artifacts.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "conflictReport",
+        defaultValue = "${project.build.directory}/featuresets-conflicts.txt")
+    private File conflictReport;
+
+    /**
+     * Lock file listing the staged artifacts, see {@link DependencyLockFile}. If set, the file is written
+     * after resolving the artifacts. While the featureset POMs, the direct dependencies of the project and
+     * the configuration do not change, later executions stage the locked artifacts without reading
+     * descriptors and resolving artifacts.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "lockFile")
+    private File lockFile;
+
+    /**
+     * Distribution variants, each staged from a subset of the featuresets. The stage directory then
+     * holds the dependencies of all featuresets, and the stage directory of each variant links the files
+     * staged for the dependencies of its featuresets, or copies them if links are not supported.
+     * Dependencies resolved once are therefore staged once for all variants.
+     *
+     * @see StageVariant
+     */
+    @Parameter
+    private List<StageVariant> variants;
+
     /**
      * Skip this mojo.
      */
@@ -176,7 +286,7 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
 
 
     @Override
-    public void execute() throws MojoExecutionException {
+    public final void execute() throws MojoExecutionException, MojoFailureException {
         if (skip) {
             getLog().info("Skipping featuresets-dependencies");
             return;
@@ -187,60 +297,49 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
         final List<String> copyTypesList = stringAsList(copyTypes, ",");
         final List<String> unpackTypesList = stringAsList(unpackTypes, ",");
 
-        // get all direct featureset dependencies's direct dependencies
-        final Set<Dependency> dependencies = new HashSet<>();
-        for (final org.apache.maven.artifact.Artifact artifact : project.getArtifacts()) {
-            if (featureSetGroupIdIncludes.contains(artifact.getGroupId())) {
-                final ArtifactDescriptorRequest descriptorRequest = new ArtifactDescriptorRequest();
-                descriptorRequest.setArtifact(new DefaultArtifact(artifact.getGroupId(),
-                    artifact.getArtifactId(), artifact.getClassifier(), artifact.getType(), artifact.getVersion()));
-                descriptorRequest.setRepositories(remoteRepos);
+        if (transforms != null) {
+            for (final EntryTransform transform : transforms) {
                 try {
-                    final ArtifactDescriptorResult result = repoSystem.readArtifactDescriptor(repoSession,
-                        descriptorRequest);
-                    dependencies.addAll(result.getDependencies());
-                } catch (final ArtifactDescriptorException ex) {
-                    throw new MojoExecutionException(ex.getMessage(), ex);
+                    transform.initialize(project.getProperties());
+                } catch (final IllegalArgumentException e) {
+                    throw new MojoExecutionException(e.getMessage(), e);
                 }
             }
         }
 
-        // build a request to resolve all dependencies
-        final Set<ArtifactRequest> dependenciesRequest = new HashSet<>();
-        for (final Dependency dependency : dependencies) {
-            final String depScope = dependency.getScope();
-            if (includeScopeList.contains(depScope) && !excludeScopeList.contains(depScope)) {
-                final ArtifactRequest request = new ArtifactRequest();
-                request.setArtifact(dependency.getArtifact());
-                request.setRepositories(remoteRepos);
-                dependenciesRequest.add(request);
+        if (mappings != null) {
+            for (final DependencyMapping mapping : mappings) {
+                if (mapping.getDirectory() != null && !mapping.getDirectory().isEmpty()) {
+                    try {
+                        mapping.resolveDirectory(stageDirectory);
+                    } catch (final IllegalArgumentException e) {
+                        throw new MojoExecutionException(e.getMessage(), e);
+                    }
+                }
             }
         }
 
-        // add project direct dependency
-        for (final org.apache.maven.model.Dependency dependency : project.getDependencies()) {
-            // if the dependency is a feature set or not of proper scope skip
-            if (featureSetGroupIdIncludes.contains(dependency.getGroupId())
-                || !isScopeIncluded(dependency.getScope())) {
-                continue;
+        final List<Artifact> featureSets = getFeatureSets(project, featureSetGroupIdIncludes);
+        final String lockKey = lockFile == null ? null : getLockKey(featureSets);
+        ResolvedFeatureSets resolved = lockKey == null ? null : readLockFile(lockKey, featureSets);
+        if (resolved == null) {
+            resolved = resolve(featureSets, includeScopeList, excludeScopeList, copyTypesList, unpackTypesList);
+            if (lockKey != null) {
+                writeLockFile(lockKey, resolved, copyTypesList, unpackTypesList);
             }
-
-            final ArtifactRequest request = new ArtifactRequest();
-            request.setArtifact(new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
-                dependency.getClassifier(), dependency.getType(), dependency.getVersion()));
-            request.setRepositories(remoteRepos);
-            dependenciesRequest.add(request);
         }
+        final List<ArtifactResult> resolvedDependencies = resolved.artifacts;
+        final Map<Artifact, List<Dependency>> featureSetDependencies = resolved.featureSetDependencies;
+        final Set<String> directArtifacts = resolved.directArtifacts;
 
-        // resolve all
-        List<ArtifactResult> resolvedDependencies;
         try {
-            resolvedDependencies = repoSystem.resolveArtifacts(repoSession, dependenciesRequest);
-        } catch (final ArtifactResolutionException ex) {
-            throw new MojoExecutionException(ex.getMessage(), ex);
+            Files.createDirectories(stageDirectory.toPath());
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("Failed to create " + stageDirectory, ex);
         }
 
-        stageDirectory.mkdir();
+        final Path lockDirectory = StagingLocks.getLockDirectory(stageDirectory.toPath());
+        final StagingManifest manifest = new StagingManifest();
 
         for (final ArtifactResult dependency : resolvedDependencies) {
 
@@ -257,25 +356,461 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
 
             // copy trumps unpack,
             // (but only if artifact is not excluded from copying already)
-            if (isArtifactActionable(dependency, copyTypesList, copyExcludes)) {
-                final String mapping = getMapping(dependency.getArtifact());
-                final File destFile = new File(stageDirectory, mapping + "." + dependency.getArtifact().getExtension());
+            if (isArtifactActionable(dependency.getArtifact(), copyTypesList, copyExcludes)) {
+                final File destFile = getCopyTarget(dependency.getArtifact());
                 final String relativeDestFile = destFile.getPath()
                     .substring(project.getBasedir().getPath().length() + 1);
                 getLog().info("Copying " + dependency.getArtifact() + " to " + relativeDestFile);
+                final BuildEvents.Copy event = new BuildEvents.Copy();
+                event.begin();
                 try {
-                    Files.copy(sourceFile.toPath(), destFile.toPath());
+                    Files.createDirectories(destFile.getParentFile().toPath());
+                    StagingLocks.withLock(lockDirectory, destFile.toPath(), () -> copy(sourceFile, destFile));
+                    if (event.shouldCommit()) {
+                        event.artifact = dependency.getArtifact().toString();
+                        event.destination = destFile.getPath();
+                        event.bytes = sourceFile.length();
+                        event.commit();
+                    }
+                    // a copy has the size of the source, a slimmed jar its own
+                    final long size = isSlimmed(sourceFile) ? destFile.length() : sourceFile.length();
+                    manifest.add(toStagePath(destFile.toPath()), size, toGroupArtifact(dependency.getArtifact()),
+                        sourceFile.getPath());
                 } catch (final IOException ex) {
                     getLog().error(ex.getMessage(), ex);
                 }
-            } else if (isArtifactActionable(dependency, unpackTypesList, unpackExcludes)) {
-                final String mapping = getMapping(dependency.getArtifact());
-                final File destDir = new File(stageDirectory, mapping);
+            } else if (isArtifactActionable(dependency.getArtifact(), unpackTypesList, unpackExcludes)) {
+                final File destDir = getUnpackTarget(dependency.getArtifact());
                 final String relativeDestDir = destDir.getPath().substring(project.getBasedir().getPath().length() + 1);
                 getLog().info("Unpacking " + dependency.getArtifact() + " to " + relativeDestDir);
-                unpack(sourceFile, destDir);
+                try {
+                    StagingLocks.withLock(lockDirectory, destDir.toPath(),
+                        () -> unpack(sourceFile, destDir, dependency.getArtifact(), manifest));
+                } catch (final IOException ex) {
+                    throw new MojoExecutionException(ex.getMessage(), ex);
+                }
+            }
+        }
+
+        try {
+            manifest.write(stagingManifest);
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("Failed to write " + stagingManifest, ex);
+        }
+        if (verify) {
+            final List<String> problems = new StageVerifier(ZIP_TYPES, verifyThreads).verify(stageDirectory,
+                manifest);
+            StageVerifier.report(getLog(), stageDirectory, problems);
+        }
+        if (variants != null) {
+            for (final StageVariant variant : variants) {
+                stageVariant(variant, featureSetDependencies, directArtifacts, manifest);
+            }
+        }
+    }
+
+
+    /**
+     * Reads the descriptors of the featuresets and resolves their dependencies and the direct dependencies
+     * of the project which will be copied or unpacked.
+     */
+    private ResolvedFeatureSets resolve(final List<Artifact> featureSets, final List<String> includeScopeList,
+        final List<String> excludeScopeList, final List<String> copyTypesList, final List<String> unpackTypesList)
+        throws MojoExecutionException, MojoFailureException {
+        // get all direct featureset dependencies's direct dependencies
+        final Map<Artifact, List<Dependency>> featureSetDependencies = new LinkedHashMap<>();
+        for (final Artifact featureSet : featureSets) {
+            final ArtifactDescriptorRequest descriptorRequest = new ArtifactDescriptorRequest();
+            descriptorRequest.setArtifact(featureSet);
+            descriptorRequest.setRepositories(remoteRepos);
+            final BuildEvents.DescriptorRead event = new BuildEvents.DescriptorRead();
+            event.begin();
+            try {
+                final ArtifactDescriptorResult result = resolverCache
+                    ? ResolverCache.readArtifactDescriptor(repoSystem, repoSession, descriptorRequest)
+                    : repoSystem.readArtifactDescriptor(repoSession, descriptorRequest);
+                featureSetDependencies.put(featureSet, result.getDependencies());
+                if (event.shouldCommit()) {
+                    event.artifact = descriptorRequest.getArtifact().toString();
+                    event.dependencies = result.getDependencies().size();
+                    event.commit();
+                }
+            } catch (final ArtifactDescriptorException ex) {
+                throw new MojoExecutionException(ex.getMessage(), ex);
+            }
+        }
+
+        // select one dependency for each target it will be copied or unpacked to, direct dependencies first
+        final ArtifactSelection selection;
+        try {
+            selection = new ArtifactSelection(ArtifactSelection.Policy.parse(conflictPolicy));
+        } catch (final IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final Set<String> directArtifacts = new HashSet<>();
+        for (final org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+            // if the dependency is a feature set or not of proper scope skip
+            if (featureSetGroupIdIncludes.contains(dependency.getGroupId())
+                || !isScopeIncluded(dependency.getScope())) {
+                continue;
+            }
+
+            final Artifact artifact = new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                dependency.getClassifier(), dependency.getType(), dependency.getVersion());
+            if (isStaged(artifact, copyTypesList, unpackTypesList)) {
+                directArtifacts.add(toGroupArtifact(artifact));
+                selection.add(artifact, getSelectionTarget(artifact, copyTypesList), project.getId());
             }
         }
+        for (final Map.Entry<Artifact, List<Dependency>> featureSet : featureSetDependencies.entrySet()) {
+            for (final Dependency dependency : featureSet.getValue()) {
+                final String depScope = dependency.getScope();
+                if (includeScopeList.contains(depScope) && !excludeScopeList.contains(depScope)
+                    && isStaged(dependency.getArtifact(), copyTypesList, unpackTypesList)) {
+                    selection.add(dependency.getArtifact(), getSelectionTarget(dependency.getArtifact(), copyTypesList),
+                        featureSet.getKey().toString());
+                }
+            }
+        }
+        reportConflicts(selection.getConflicts());
+
+        final List<ArtifactRequest> dependenciesRequest = new ArrayList<>();
+        for (final Artifact artifact : selection.getSelected()) {
+            dependenciesRequest.add(new ArtifactRequest(artifact, remoteRepos, null));
+        }
+
+        // resolve all
+        final List<ArtifactResult> resolvedDependencies;
+        final BuildEvents.Resolution resolution = new BuildEvents.Resolution();
+        resolution.begin();
+        try {
+            resolvedDependencies = resolverCache
+                ? ResolverCache.resolveArtifacts(repoSystem, repoSession, dependenciesRequest)
+                : repoSystem.resolveArtifacts(repoSession, dependenciesRequest);
+            if (resolution.shouldCommit()) {
+                resolution.project = project.getId();
+                resolution.artifacts = resolvedDependencies.size();
+                resolution.commit();
+            }
+        } catch (final ArtifactResolutionException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+
+        return new ResolvedFeatureSets(resolvedDependencies, featureSetDependencies, directArtifacts);
+    }
+
+
+    /**
+     * Identifies the target of the staged artifact for the conflict detection: the path of the copied file,
+     * or the artifact without version for unpacked artifacts, as several artifacts may share an unpack
+     * directory.
+     *
+     * @param artifact the copied or unpacked artifact
+     * @param copyTypesList extensions of copied artifacts
+     * @return the target
+     */
+    private String getSelectionTarget(final Artifact artifact, final List<String> copyTypesList) {
+        if (isArtifactActionable(artifact, copyTypesList, copyExcludes)) {
+            return toStagePath(getCopyTarget(artifact).toPath());
+        }
+        return String.join(":", artifact.getGroupId(), artifact.getArtifactId(), artifact.getClassifier(),
+            artifact.getExtension());
+    }
+
+
+    /**
+     * Writes the conflict report and fails if conflicts are not allowed.
+     *
+     * @param conflicts the conflicts, one line per target
+     * @throws MojoExecutionException if the report cannot be written
+     * @throws MojoFailureException if there are conflicts and the policy is {@code fail}
+     */
+    private void reportConflicts(final List<String> conflicts) throws MojoExecutionException, MojoFailureException {
+        try {
+            Files.createDirectories(conflictReport.getAbsoluteFile().getParentFile().toPath());
+            Files.write(conflictReport.toPath(), conflicts, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + conflictReport, e);
+        }
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        for (final String conflict : conflicts) {
+            getLog().warn("Conflict of " + conflict);
+        }
+        if (ArtifactSelection.Policy.parse(conflictPolicy) == ArtifactSelection.Policy.FAIL) {
+            throw new MojoFailureException("Found " + conflicts.size() + " conflicts, see " + conflictReport);
+        }
+    }
+
+
+    /**
+     * Computes the key of the inputs of the resolution: the configuration, the featuresets with the POM
+     * files they are built from and the direct dependencies of the project.
+     *
+     * @param featureSets the featuresets
+     * @return the key
+     */
+    private String getLockKey(final List<Artifact> featureSets) {
+        final List<String> inputs = new ArrayList<>();
+        inputs.add(String.join(",", copyTypes, String.valueOf(copyExcludes), unpackTypes,
+            String.valueOf(unpackExcludes), includeScope, excludeScope, String.valueOf(featureSetGroupIdIncludes),
+            conflictPolicy));
+        if (mappings != null) {
+            for (final DependencyMapping mapping : mappings) {
+                inputs.add(String.join(",", mapping.getGroupId(), mapping.getArtifactId(), mapping.getType(),
+                    mapping.getName(), mapping.getDirectory()));
+            }
+        }
+        for (final RemoteRepository repository : remoteRepos) {
+            inputs.add(repository.getUrl());
+        }
+        for (final Artifact featureSet : featureSets) {
+            inputs.add(featureSet.toString());
+            for (final File pom : PomChain.collect(repoSession, featureSet)) {
+                inputs.add(pom + "," + pom.lastModified() + "," + pom.length());
+            }
+        }
+        for (final org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+            inputs.add(String.join(",", dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(),
+                dependency.getClassifier(), dependency.getVersion(), dependency.getScope()));
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join("\n", inputs).getBytes(StandardCharsets.UTF_8));
+            return Checksums.toHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Reads the locked artifacts.
+     *
+     * @param key the key of the current inputs
+     * @param featureSets the featuresets
+     * @return the locked artifacts, {@code null} if the lock file does not exist, is stale or locked files
+     *         are missing
+     */
+    private ResolvedFeatureSets readLockFile(final String key, final List<Artifact> featureSets) {
+        final DependencyLockFile lock;
+        try {
+            lock = DependencyLockFile.read(lockFile);
+        } catch (final IOException e) {
+            getLog().warn("Ignoring the lock file: " + e.getMessage());
+            return null;
+        }
+        if (lock == null || !lock.getKey().equals(key)) {
+            getLog().info("The lock file " + lockFile + " is missing or stale, resolving dependencies");
+            return null;
+        }
+        final Map<String, Artifact> featureSetsById = new HashMap<>();
+        final Map<Artifact, List<Dependency>> featureSetDependencies = new LinkedHashMap<>();
+        for (final Artifact featureSet : featureSets) {
+            featureSetsById.put(featureSet.toString(), featureSet);
+            featureSetDependencies.put(featureSet, new ArrayList<>());
+        }
+        final List<ArtifactResult> artifacts = new ArrayList<>();
+        final Set<String> directArtifacts = new HashSet<>();
+        for (final DependencyLockFile.Entry entry : lock.getEntries()) {
+            if (!entry.isAvailable()) {
+                getLog().info("The locked file of " + entry.getArtifact() + " is missing or changed,"
+                    + " resolving dependencies");
+                return null;
+            }
+            final Artifact artifact = entry.getArtifact();
+            artifacts.add(new ArtifactResult(new ArtifactRequest(artifact, remoteRepos, null)).setArtifact(artifact));
+            if (entry.isDirect()) {
+                directArtifacts.add(toGroupArtifact(artifact));
+            }
+            for (final String featureSet : entry.getFeatureSets()) {
+                final Artifact dependant = featureSetsById.get(featureSet);
+                if (dependant != null) {
+                    featureSetDependencies.get(dependant).add(new Dependency(artifact, entry.getScope()));
+                }
+            }
+        }
+        getLog().info("Staging " + artifacts.size() + " artifacts locked in " + lockFile);
+        return new ResolvedFeatureSets(artifacts, featureSetDependencies, directArtifacts);
+    }
+
+
+    /**
+     * Writes the resolved artifacts to the lock file.
+     *
+     * @param key the key of the current inputs
+     * @param resolved the resolved artifacts
+     * @param copyTypesList extensions of copied artifacts
+     * @param unpackTypesList extensions of unpacked artifacts
+     * @throws MojoExecutionException if the lock file cannot be written
+     */
+    private void writeLockFile(final String key, final ResolvedFeatureSets resolved,
+        final List<String> copyTypesList, final List<String> unpackTypesList) throws MojoExecutionException {
+        final Map<String, String> scopes = new HashMap<>();
+        final Map<String, List<String>> dependants = new HashMap<>();
+        for (final Map.Entry<Artifact, List<Dependency>> featureSet : resolved.featureSetDependencies.entrySet()) {
+            for (final Dependency dependency : featureSet.getValue()) {
+                scopes.put(dependency.getArtifact().toString(), dependency.getScope());
+                dependants.computeIfAbsent(dependency.getArtifact().toString(), k -> new ArrayList<>())
+                    .add(featureSet.getKey().toString());
+            }
+        }
+        for (final org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+            scopes.putIfAbsent(new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                dependency.getClassifier(), dependency.getType(), dependency.getVersion()).toString(),
+                dependency.getScope());
+        }
+        final List<Artifact> artifacts = resolved.artifacts.stream().map(ArtifactResult::getArtifact)
+            .filter(artifact -> artifact.getFile() != null).collect(Collectors.toList());
+        final List<String> checksums = Parallel.map(artifacts, 0,
+            artifact -> Checksums.digest(artifact.getFile().toPath(), List.of("SHA-256")).get("SHA-256"));
+        final DependencyLockFile lock = new DependencyLockFile(key);
+        for (int i = 0; i < artifacts.size(); i++) {
+            final Artifact artifact = artifacts.get(i);
+            final String id = artifact.toString();
+            final File target = isArtifactActionable(artifact, copyTypesList, copyExcludes) ? getCopyTarget(artifact)
+                : isArtifactActionable(artifact, unpackTypesList, unpackExcludes) ? getUnpackTarget(artifact) : null;
+            lock.add(new DependencyLockFile.Entry(artifact, scopes.getOrDefault(id, ""),
+                resolved.directArtifacts.contains(toGroupArtifact(artifact)), artifact.getFile().length(),
+                artifact.getFile().lastModified(), checksums.get(i), target == null ? "" : toStagePath(target.toPath()),
+                artifact.getFile(), dependants.getOrDefault(id, List.of())));
+        }
+        try {
+            lock.write(lockFile);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + lockFile, e);
+        }
+    }
+
+
+    /**
+     * Links the files staged for the variant from the stage directory to the stage directory of the variant.
+     * Only the files the staging manifest lists for the dependencies of the variant are linked, so an unpack
+     * directory shared with other dependencies is not linked as a whole. Files left in the stage directory
+     * of the variant by a previous build are deleted.
+     *
+     * @param variant the variant
+     * @param featureSetDependencies direct dependencies of all featuresets
+     * @param directArtifacts {@code groupId:artifactId} of the staged direct dependencies of the project
+     * @param manifest the staging manifest of the stage directory
+     * @throws MojoExecutionException if the variant cannot be staged
+     */
+    private void stageVariant(final StageVariant variant, final Map<Artifact, List<Dependency>> featureSetDependencies,
+        final Set<String> directArtifacts, final StagingManifest manifest) throws MojoExecutionException {
+        if (variant.getStageDirectory() == null) {
+            throw new MojoExecutionException("The stageDirectory of the variant " + variant.getName() + " is not set");
+        }
+        // stale files of the variant are deleted and linking deletes the target first
+        final Path variantDirectory = variant.getStageDirectory().toPath().toAbsolutePath().normalize();
+        final Path stageRoot = stageDirectory.toPath().toAbsolutePath().normalize();
+        if (variantDirectory.startsWith(stageRoot) || stageRoot.startsWith(variantDirectory)) {
+            throw new MojoExecutionException("The stageDirectory " + variantDirectory + " of the variant "
+                + variant.getName() + " must not be the stage directory " + stageRoot + ", inside it or contain it");
+        }
+        final Path buildDirectory = Path.of(project.getBuild().getDirectory()).toAbsolutePath().normalize();
+        if (buildDirectory.startsWith(variantDirectory)) {
+            throw new MojoExecutionException("The stageDirectory " + variantDirectory + " of the variant "
+                + variant.getName() + " must not be the build directory " + buildDirectory + " or contain it");
+        }
+        final Set<String> artifacts = new HashSet<>(directArtifacts);
+        boolean matched = false;
+        for (final Map.Entry<Artifact, List<Dependency>> featureSet : featureSetDependencies.entrySet()) {
+            if (variant.includes(featureSet.getKey())) {
+                matched = true;
+                for (final Dependency dependency : featureSet.getValue()) {
+                    artifacts.add(toGroupArtifact(dependency.getArtifact()));
+                }
+            }
+        }
+        if (!matched) {
+            getLog().warn("No featureset matches the variant " + variant.getName() + ": " + variant.getFeatureSets());
+        }
+
+        final Path base = stageDirectory.toPath();
+        final Path target = variant.getStageDirectory().toPath();
+        final StagingManifest variantManifest = new StagingManifest();
+        final Set<Path> staged = new HashSet<>();
+        int linked = 0;
+        int copied = 0;
+        int deleted = 0;
+        try {
+            for (final StagingManifest.Entry entry : manifest.getEntries()) {
+                if (!artifacts.contains(entry.getArtifact())) {
+                    continue;
+                }
+                variantManifest.add(entry.getPath(), entry.getSize(), entry.getArtifact(), entry.getSource());
+                final Path file = base.resolve(entry.getPath());
+                final Path link = target.resolve(entry.getPath()).normalize();
+                if (!staged.add(link)) {
+                    continue;
+                }
+                if (!Files.isRegularFile(file)) {
+                    getLog().warn("The staged file " + file + " does not exist, not linked to the variant "
+                        + variant.getName());
+                } else if (StageFiles.link(file, link)) {
+                    linked++;
+                } else {
+                    copied++;
+                }
+            }
+            final Path variantManifestFile = variant.getStagingManifest() == null
+                ? null : variant.getStagingManifest().toPath().toAbsolutePath().normalize();
+            for (final Path file : StageFiles.listFiles(variant.getStageDirectory())) {
+                final Path absolute = file.toAbsolutePath().normalize();
+                if (!staged.contains(file.normalize()) && !absolute.equals(variantManifestFile)) {
+                    Files.delete(file);
+                    deleteEmptyParents(file.getParent(), target);
+                    deleted++;
+                }
+            }
+            variantManifest.write(variant.getStagingManifest());
+        } catch (final IOException ex) {
+            throw new MojoExecutionException("Failed to stage the variant " + variant.getName() + " to " + target, ex);
+        }
+        getLog().info("Staged variant " + variant.getName() + " to " + target + ": " + linked + " files linked, "
+            + copied + " copied, " + deleted + " stale files deleted");
+    }
+
+
+    /**
+     * Deletes the directory and its parents while they are empty.
+     *
+     * @param directory the directory
+     * @param root the directory which is never deleted
+     * @throws IOException if a directory cannot be read or deleted
+     */
+    private static void deleteEmptyParents(final Path directory, final Path root) throws IOException {
+        Path current = directory;
+        while (current != null && !current.equals(root) && current.startsWith(root)) {
+            try (Stream<Path> content = Files.list(current)) {
+                if (content.findAny().isPresent()) {
+                    return;
+                }
+            }
+            Files.delete(current);
+            current = current.getParent();
+        }
+    }
+
+
+    /**
+     * Get the featuresets whose direct dependencies are staged.
+     * The featuresets are taken from the resolved project artifacts, including transitive dependencies.
+     *
+     * @param mavenProject the maven project
+     * @param groupIds groupIds of the featuresets
+     * @return coordinates of the featuresets
+     */
+    protected List<Artifact> getFeatureSets(final MavenProject mavenProject, final List<String> groupIds) {
+        final List<Artifact> featureSets = new ArrayList<>();
+        for (final org.apache.maven.artifact.Artifact artifact : mavenProject.getArtifacts()) {
+            if (groupIds.contains(artifact.getGroupId())) {
+                featureSets.add(new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(),
+                    artifact.getClassifier(), artifact.getType(), artifact.getVersion()));
+            }
+        }
+        return featureSets;
     }
 
 
@@ -291,12 +826,32 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
     }
 
 
-    private boolean isArtifactActionable(final ArtifactResult dependency, final List<String> actionTypesList,
+    /**
+     * Checks if the artifact will be copied or unpacked, so it has to be resolved.
+     * Just the coordinates are used, the artifact does not have to be resolved.
+     *
+     * @param artifact the artifact
+     * @param copyTypesList extensions of copied artifacts
+     * @param unpackTypesList extensions of unpacked artifacts
+     * @return {@code true} if the artifact is copied or unpacked
+     */
+    private boolean isStaged(final Artifact artifact, final List<String> copyTypesList,
+        final List<String> unpackTypesList) {
+        if (isArtifactActionable(artifact, copyTypesList, copyExcludes)
+            || isArtifactActionable(artifact, unpackTypesList, unpackExcludes)) {
+            return true;
+        }
+        getLog().debug("Not resolved, neither copied nor unpacked: " + artifact);
+        return false;
+    }
+
+
+    private boolean isArtifactActionable(final Artifact artifact, final List<String> actionTypesList,
         final List<String> actionExcludes) {
-        final boolean typeIncluded = actionTypesList.contains(dependency.getArtifact().getExtension());
-        final boolean artifactExcluded = isArtifactExcluded(actionExcludes, dependency.getArtifact());
+        final boolean typeIncluded = actionTypesList.contains(artifact.getExtension());
+        final boolean artifactExcluded = isArtifactExcluded(actionExcludes, artifact);
         if (artifactExcluded) {
-            getLog().debug("Excluded: " + dependency.getArtifact());
+            getLog().debug("Excluded: " + artifact);
         }
         return typeIncluded && !artifactExcluded;
     }
@@ -360,14 +915,7 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
 
         if (mappings != null && !mappings.isEmpty()) {
             for (final DependencyMapping mapping : mappings) {
-                // if groupId is supplied, filter groupId
-                if (mapping.getGroupId() != null && !mapping.getGroupId().isEmpty()) {
-                    if (!artifact.getGroupId().equals(mapping.getGroupId())) {
-                        continue;
-                    }
-                }
-                if (artifact.getArtifactId().equals(mapping.getArtifactId()) && mapping.getName() != null
-                    && !mapping.getName().isEmpty()) {
+                if (mapping.getName() != null && !mapping.getName().isEmpty() && mapping.matches(artifact)) {
                     return mapping.getName();
                 }
             }
@@ -376,16 +924,108 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
     }
 
 
-    private void unpack(final File file, final File location) throws MojoExecutionException {
+    /**
+     * Get the target directory for a given artifact.
+     * Lookup the configured mapping for a custom directory, otherwise return the
+     * stage directory.
+     *
+     * @param artifact the artifact to be mapped
+     * @return the directory where the artifact is copied or unpacked
+     */
+    private File getDirectory(final Artifact artifact) {
+        if (mappings != null && !mappings.isEmpty()) {
+            for (final DependencyMapping mapping : mappings) {
+                if (mapping.getDirectory() != null && !mapping.getDirectory().isEmpty() && mapping.matches(artifact)) {
+                    return mapping.resolveDirectory(stageDirectory);
+                }
+            }
+        }
+        return stageDirectory;
+    }
+
+
+    private File getCopyTarget(final Artifact artifact) {
+        return new File(getDirectory(artifact), getMapping(artifact) + "." + artifact.getExtension());
+    }
+
+
+    private File getUnpackTarget(final Artifact artifact) {
+        return new File(getDirectory(artifact), getMapping(artifact));
+    }
+
+
+    private boolean isSlimmed(final File source) {
+        return slimJars && ZIP_TYPES.contains(getExtension(source));
+    }
+
+
+    private void copy(final File source, final File target) throws IOException {
+        if (isSlimmed(source)) {
+            try {
+                final int removed = JarRewriter.rewrite(source.toPath(), target.toPath(), true,
+                    entries -> entries.stream().filter(entry -> slimExcludes.stream()
+                        .noneMatch(pattern -> SelectorUtils.matchPath(pattern.strip(), entry.getName())))
+                        .collect(Collectors.toList()));
+                if (removed >= 0) {
+                    getLog().debug("Removed " + removed + " entries from " + target);
+                    return;
+                }
+            } catch (final IOException e) {
+                getLog().warn("Cannot slim " + source + ", it is copied as it is: " + e.getMessage());
+            }
+        }
+        StagingLocks.copyAtomically(source.toPath(), target.toPath());
+    }
+
+
+    private void unpack(final File file, final File location, final Artifact artifact,
+        final StagingManifest manifest) throws IOException {
+        final BuildEvents.Unpack event = new BuildEvents.Unpack();
+        event.begin();
+        final String groupArtifact = toGroupArtifact(artifact);
+        final boolean recorded = event.isEnabled();
+        event.entries = extract(file, location, (name, extracted, size) -> {
+            manifest.add(toStagePath(extracted), size, groupArtifact, file + "!/" + name);
+            if (recorded) {
+                event.bytes += size < 0 ? extracted.toFile().length() : size;
+            }
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.artifact = artifact.toString();
+            event.destination = location.getPath();
+            event.commit();
+        }
+    }
+
+
+    /**
+     * Extracts the archive, zip archives by the {@link ArchiveExtractor}, other archives by the plexus
+     * {@link UnArchiver}.
+     *
+     * @return number of extracted files
+     */
+    private int extract(final File file, final File location, final ArchiveExtractor.Listener listener)
+        throws IOException {
         final Log log = getLog();
         if (log.isDebugEnabled()) {
             log.debug(toLogMessage(file, location));
         }
-        location.mkdirs();
+        Files.createDirectories(location.toPath());
+        if (ZIP_TYPES.contains(getExtension(file))) {
+            return new ArchiveExtractor(stringAsList(includes, ","), stringAsList(excludes, ","),
+                transforms == null ? List.of() : transforms, log).extract(file, location, listener);
+        }
+        if (transforms != null && !transforms.isEmpty()) {
+            log.warn("Transforms are supported just for zip archives, " + file + " is extracted without them");
+        }
+        // unpack next to the stage and move the files in, so readers of the stage never see partial files
+        final Path temp = Files.createTempDirectory(StagingLocks.getLockDirectory(stageDirectory.toPath()),
+            "unpack");
         try {
             UnArchiver unArchiver = archiverManager.getUnArchiver(file);
             unArchiver.setSourceFile(file);
-            unArchiver.setDestDirectory(location);
+            unArchiver.setDestDirectory(temp.toFile());
 
             if (StringUtils.isNotEmpty(excludes) || StringUtils.isNotEmpty(includes)) {
                 IncludeExcludeFileSelector selector = new IncludeExcludeFileSelector();
@@ -398,11 +1038,59 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
                 unArchiver.setFileSelectors(new IncludeExcludeFileSelector[] {selector});
             }
             unArchiver.extract();
+            return moveExtracted(temp, location.toPath(), listener);
         } catch (NoSuchArchiverException e) {
-            throw new MojoExecutionException("Unknown archiver type", e);
+            throw new IOException("Unknown archiver type", e);
         } catch (ArchiverException e) {
-            throw new MojoExecutionException("Error unpacking file: " + file + " to: " + location, e);
+            throw new IOException("Error unpacking file: " + file + " to: " + location, e);
+        } finally {
+            StageFiles.deleteTree(temp);
+        }
+    }
+
+
+    /**
+     * Moves the extracted files to the location, each one atomically.
+     *
+     * @return number of moved files
+     */
+    private static int moveExtracted(final Path extracted, final Path location,
+        final ArchiveExtractor.Listener listener) throws IOException {
+        final List<Path> paths;
+        try (Stream<Path> walk = Files.walk(extracted)) {
+            paths = walk.sorted().collect(Collectors.toList());
+        }
+        int count = 0;
+        for (final Path path : paths) {
+            final String name = StageFiles.relativize(extracted, path);
+            final Path target = location.resolve(name);
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                Files.createDirectories(target);
+                continue;
+            }
+            final long size = Files.size(path);
+            StagingLocks.moveAtomically(path, target);
+            listener.extracted(name, target, size);
+            count++;
         }
+        return count;
+    }
+
+
+    private static String toGroupArtifact(final Artifact artifact) {
+        return artifact.getGroupId() + ":" + artifact.getArtifactId();
+    }
+
+
+    private String toStagePath(final Path file) {
+        return StageFiles.relativize(stageDirectory.toPath().toAbsolutePath().normalize(),
+            file.toAbsolutePath().normalize());
+    }
+
+
+    private static String getExtension(final File file) {
+        final String name = file.getName();
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
     }
 
 
@@ -445,4 +1133,22 @@ public final class FeatureSetsDependenciesMojo extends AbstractMojo {
         }
         return Collections.emptyList();
     }
+
+
+    /**
+     * Artifacts to stage and where they come from.
+     */
+    private static final class ResolvedFeatureSets {
+
+        private final List<ArtifactResult> artifacts;
+        private final Map<Artifact, List<Dependency>> featureSetDependencies;
+        private final Set<String> directArtifacts;
+
+        ResolvedFeatureSets(final List<ArtifactResult> resolvedArtifacts,
+            final Map<Artifact, List<Dependency>> dependenciesOfFeatureSets, final Set<String> staged) {
+            this.artifacts = resolvedArtifacts;
+            this.featureSetDependencies = dependenciesOfFeatureSets;
+            this.directArtifacts = staged;
+        }
+    }
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.SelectorUtils;
+
+import static org.glassfish.build.LifecyclePhaseHelper.GFBUILD_ASSEMBLY_DIR;
+
+/**
+ * Generates the assembly descriptor listing every file of the assembly input directory explicitly.
+ * <p>
+ * The assembly-maven-plugin then adds the listed files without scanning the directory and matching
+ * patterns. Empty directories are listed as includes of a file set, so just their parent directories
+ * are scanned. The descriptor is written only if its content changed. This mojo is a helper mojo for
+ * lifecycles of this plugin, it replaces the descriptor unpacked by the {@code unpack-assembly-descriptor}
+ * goal.
+ * <p>
+ * If the staging manifest of the {@code featuresets-dependencies} goal lists every file of the input
+ * directory, the files are taken from it and just the names in the directories are compared with it,
+ * no file attributes are read. Otherwise the input directory is walked. Files matching the default
+ * excludes of the {@link DirectoryScanner} and temporary files of interrupted staging are not listed.
+ */
+@Mojo(name = "generate-assembly-descriptor", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class GenerateAssemblyDescriptorMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "generateAssemblyDescriptor.";
+
+    private static final String INDENT = "    ";
+
+    /**
+     * Default excludes of the file sets of the assembly-maven-plugin, which do not apply to listed files,
+     * and the temporary files of {@link StagingLocks}.
+     */
+    private static final List<String> EXCLUDES = createExcludes();
+
+    /**
+     * File name of the descriptor, without the extension it is the id of the assembly.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "descriptorResource", required = true)
+    private String descriptorResource;
+
+    /**
+     * The directory of the generated descriptor.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputDirectory", required = true, defaultValue = GFBUILD_ASSEMBLY_DIR)
+    private File outputDirectory;
+
+    /**
+     * The directory with the content of the assembly.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "inputDirectory", required = true,
+        defaultValue = "${glassfishbuild-maven-plugin.assemblyInputDirectory}")
+    private File inputDirectory;
+
+    /**
+     * The staging manifest written by the {@code featuresets-dependencies} goal. Ignored if it does not exist
+     * or does not list all files of the input directory.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        final Path input = inputDirectory.toPath();
+        final List<Path> files = new ArrayList<>();
+        final List<Path> emptyDirectories = new ArrayList<>();
+        try {
+            if (!listManifest(input, files)) {
+                files.clear();
+                list(input, files, emptyDirectories);
+            }
+        } catch (final IOException | NumberFormatException e) {
+            throw new MojoExecutionException("Failed to list " + inputDirectory, e);
+        }
+        files.removeIf(file -> isExcluded(input, file));
+        emptyDirectories.removeIf(directory -> isExcluded(input, directory));
+        final byte[] descriptor = toDescriptor(files, emptyDirectories).getBytes(StandardCharsets.UTF_8);
+        final File target = new File(outputDirectory, descriptorResource);
+        try {
+            if (target.isFile() && Arrays.equals(descriptor, Files.readAllBytes(target.toPath()))) {
+                getLog().debug("The assembly descriptor " + target + " is up to date");
+                return;
+            }
+            Files.createDirectories(outputDirectory.toPath());
+            StagingLocks.writeAtomically(new ByteArrayInputStream(descriptor), target.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + target, e);
+        }
+        getLog().info("Generated the assembly descriptor " + target + " with " + files.size() + " files");
+    }
+
+
+    /**
+     * Lists the files of the staging manifest, sorted by path, if they are all files of the directory.
+     *
+     * @return {@code false} if the manifest does not exist or the directory contains anything else
+     */
+    private boolean listManifest(final Path directory, final List<Path> files) throws IOException {
+        final StagingManifest manifest = StagingManifest.read(stagingManifest);
+        if (manifest.getEntries().isEmpty()) {
+            return false;
+        }
+        // names of the files and subdirectories of each directory by the manifest
+        final Map<Path, Set<String>> children = new HashMap<>();
+        for (final StagingManifest.Entry entry : manifest.getEntries()) {
+            final Path file = directory.resolve(entry.getPath()).normalize();
+            if (!file.startsWith(directory) || file.equals(directory)) {
+                return false;
+            }
+            if (!children.computeIfAbsent(file.getParent(), key -> new HashSet<>())
+                .add(file.getFileName().toString())) {
+                continue;
+            }
+            files.add(file);
+            for (Path parent = file.getParent(); !parent.equals(directory); parent = parent.getParent()) {
+                if (!children.computeIfAbsent(parent.getParent(), key -> new HashSet<>())
+                    .add(parent.getFileName().toString())) {
+                    break;
+                }
+            }
+        }
+        if (!children.containsKey(directory)) {
+            return false;
+        }
+        for (final Map.Entry<Path, Set<String>> names : children.entrySet()) {
+            int found = 0;
+            try (DirectoryStream<Path> content = Files.newDirectoryStream(names.getKey())) {
+                for (final Path child : content) {
+                    if (names.getValue().contains(child.getFileName().toString())) {
+                        found++;
+                    } else if (!isExcluded(directory, child)) {
+                        getLog().debug(child + " is not in " + stagingManifest + ", walking " + directory);
+                        return false;
+                    }
+                }
+            } catch (final NoSuchFileException e) {
+                return false;
+            }
+            if (found != names.getValue().size()) {
+                return false;
+            }
+        }
+        files.sort(null);
+        return true;
+    }
+
+
+    /**
+     * Lists the files and empty directories in a single walk, sorted by path.
+     */
+    private static void list(final Path directory, final List<Path> files, final List<Path> emptyDirectories)
+        throws IOException {
+        final Deque<int[]> children = new ArrayDeque<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                if (!children.isEmpty()) {
+                    children.peek()[0]++;
+                }
+                children.push(new int[1]);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                children.peek()[0]++;
+                files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                if (children.pop()[0] == 0 && !dir.equals(directory)) {
+                    emptyDirectories.add(dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(null);
+        emptyDirectories.sort(null);
+    }
+
+
+    private static boolean isExcluded(final Path directory, final Path file) {
+        final String path = StageFiles.relativize(directory, file);
+        return EXCLUDES.stream().anyMatch(pattern -> SelectorUtils.matchPath(pattern, path));
+    }
+
+
+    private static List<String> createExcludes() {
+        final List<String> excludes = new ArrayList<>(Arrays.asList(DirectoryScanner.DEFAULTEXCLUDES));
+        excludes.add("**/.*.tmp");
+        return excludes;
+    }
+
+
+    private String toDescriptor(final List<Path> files, final List<Path> emptyDirectories) {
+        final Path input = inputDirectory.toPath();
+        final String id = descriptorResource.endsWith(".xml")
+            ? descriptorResource.substring(0, descriptorResource.length() - ".xml".length()) : descriptorResource;
+        final StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<!-- Generated by the generate-assembly-descriptor goal of glassfishbuild-maven-plugin -->\n")
+            .append("<assembly xmlns=\"http://maven.apache.org/ASSEMBLY/2.2.0\"\n")
+            .append(INDENT).append("xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n")
+            .append(INDENT).append("xsi:schemaLocation=\"http://maven.apache.org/ASSEMBLY/2.2.0")
+            .append(" https://maven.apache.org/xsd/assembly-2.2.0.xsd\"\n>\n");
+        element(xml, 1, "id", id);
+        xml.append(INDENT).append("<formats>\n");
+        element(xml, 2, "format", "zip");
+        xml.append(INDENT).append("</formats>\n");
+        element(xml, 1, "includeBaseDirectory", "false");
+        if (!emptyDirectories.isEmpty()) {
+            xml.append(INDENT).append("<fileSets>\n");
+            xml.append(INDENT).append(INDENT).append("<fileSet>\n");
+            element(xml, 3, "directory", inputDirectory.getAbsolutePath());
+            element(xml, 3, "outputDirectory", "/");
+            xml.append(INDENT).append(INDENT).append(INDENT).append("<includes>\n");
+            for (final Path directory : emptyDirectories) {
+                element(xml, 4, "include", StageFiles.relativize(input, directory));
+            }
+            xml.append(INDENT).append(INDENT).append(INDENT).append("</includes>\n");
+            xml.append(INDENT).append(INDENT).append("</fileSet>\n");
+            xml.append(INDENT).append("</fileSets>\n");
+        }
+        xml.append(INDENT).append("<files>\n");
+        for (final Path file : files) {
+            final String path = StageFiles.relativize(input, file);
+            final int slash = path.lastIndexOf('/');
+            xml.append(INDENT).append(INDENT).append("<file>\n");
+            element(xml, 3, "source", file.toAbsolutePath().toString());
+            element(xml, 3, "outputDirectory", slash < 0 ? "/" : path.substring(0, slash));
+            xml.append(INDENT).append(INDENT).append("</file>\n");
+        }
+        xml.append(INDENT).append("</files>\n");
+        return xml.append("</assembly>\n").toString();
+    }
+
+
+    private static void element(final StringBuilder xml, final int depth, final String name, final String value) {
+        xml.append(INDENT.repeat(depth)).append('<').append(name).append('>');
+        for (final char c : value.toCharArray()) {
+            if (c == '&') {
+                xml.append("&amp;");
+            } else if (c == '<') {
+                xml.append("&lt;");
+            } else if (c == '>') {
+                xml.append("&gt;");
+            } else {
+                xml.append(c);
+            }
+        }
+        xml.append("</").append(name).append(">\n");
+    }
+}
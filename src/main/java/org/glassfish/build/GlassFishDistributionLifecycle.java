@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -25,11 +25,14 @@ import org.apache.maven.lifecycle.mapping.LifecycleMapping;
 import org.apache.maven.lifecycle.mapping.LifecycleMojo;
 import org.apache.maven.lifecycle.mapping.LifecyclePhase;
 import org.codehaus.plexus.component.annotations.Component;
+import org.glassfish.build.xpp3dom.ConfigurationElement;
+import org.glassfish.build.xpp3dom.PropertyElement;
 
 import static org.glassfish.build.LifecyclePhaseHelper.createAssemblyCfg;
-import static org.glassfish.build.LifecyclePhaseHelper.createGenerateResourcesPhase;
+import static org.glassfish.build.LifecyclePhaseHelper.createGenerateAssemblyDescriptorCfg;
 import static org.glassfish.build.LifecyclePhaseHelper.createLifecycle;
 import static org.glassfish.build.LifecyclePhaseHelper.createSetMainArtifactCfg;
+import static org.glassfish.build.LifecyclePhaseHelper.createUpdateDistributionCfg;
 
 /**
  * Lifecycle of the glassfish-distribution package type.
@@ -49,7 +52,6 @@ public class GlassFishDistributionLifecycle extends DefaultLifecycleMapping {
 
     private static Map<String, LifecyclePhase> createPhases() {
         final Map<String, LifecyclePhase> phases = new HashMap<>();
-        phases.put("generate-resources", createGenerateResourcesPhase(DESCRIPTOR_FILENAME));
         phases.put("process-resources",
             new LifecyclePhase("org.glassfish.build:glassfishbuild-maven-plugin:featuresets-dependencies"));
         phases.put("package", createPackagePhase());
@@ -61,13 +63,26 @@ public class GlassFishDistributionLifecycle extends DefaultLifecycleMapping {
 
     private static LifecyclePhase createPackagePhase() {
         final LifecyclePhase packagePhase = new LifecyclePhase(
-            "org.apache.maven.plugins:maven-assembly-plugin:single,"
-            + "org.glassfish.build:glassfishbuild-maven-plugin:set-main-artifact");
+            "org.glassfish.build:glassfishbuild-maven-plugin:generate-assembly-descriptor,"
+            + "org.apache.maven.plugins:maven-assembly-plugin:single,"
+            + "org.glassfish.build:glassfishbuild-maven-plugin:update-distribution,"
+            + "org.glassfish.build:glassfishbuild-maven-plugin:set-main-artifact,"
+            + "org.glassfish.build:glassfishbuild-maven-plugin:oci-image");
 
-        final LifecycleMojo assemblyMojo = packagePhase.getMojos().get(0);
-        assemblyMojo.setConfiguration(createAssemblyCfg(assemblyMojo, DESCRIPTOR_FILENAME));
+        final LifecycleMojo descriptorMojo = packagePhase.getMojos().get(0);
+        descriptorMojo.setConfiguration(createGenerateAssemblyDescriptorCfg(descriptorMojo, DESCRIPTOR_FILENAME));
 
-        final LifecycleMojo setMainArtifactMojo = packagePhase.getMojos().get(1);
+        // the update-distribution goal replaces the assembly plugin if incremental packaging is enabled
+        final LifecycleMojo assemblyMojo = packagePhase.getMojos().get(1);
+        final ConfigurationElement assemblyCfg = createAssemblyCfg(assemblyMojo, DESCRIPTOR_FILENAME);
+        assemblyCfg.addChild(new PropertyElement("skipAssembly",
+            "${" + UpdateDistributionMojo.INCREMENTAL_PACKAGING_PROPERTY + "}"));
+        assemblyMojo.setConfiguration(assemblyCfg);
+
+        final LifecycleMojo updateDistributionMojo = packagePhase.getMojos().get(2);
+        updateDistributionMojo.setConfiguration(createUpdateDistributionCfg(updateDistributionMojo));
+
+        final LifecycleMojo setMainArtifactMojo = packagePhase.getMojos().get(3);
         setMainArtifactMojo.setConfiguration(createSetMainArtifactCfg(setMainArtifactMojo));
         return packagePhase;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -39,7 +39,12 @@ public class GlassFishJarLifecycle extends DefaultLifecycleMapping {
     }
 
 
-    private static Map<String, LifecyclePhase> createPhases() {
+    /**
+     * Creates phases of the lifecycle. The package phase uses the maven-jar-plugin.
+     *
+     * @return map of phase names and mojos bound to them
+     */
+    static Map<String, LifecyclePhase> createPhases() {
         final Map<String, LifecyclePhase> phases = new HashMap<>();
         phases.put("process-resources",
             new LifecyclePhase("org.apache.maven.plugins:maven-resources-plugin:resources"));
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Mapping of the glassfish-jar-parallel package type with the jar file name extension.
+ */
+@Component(role = ArtifactHandler.class, hint = "glassfish-jar-parallel")
+public class GlassFishParallelJarArtifactHandler extends DefaultArtifactHandler {
+
+    /**
+     * Creates the configured instance.
+     */
+    public GlassFishParallelJarArtifactHandler() {
+        super("glassfish-jar-parallel");
+        setExtension("jar");
+        setAddedToClasspath(true);
+        setLanguage("java");
+    }
+}
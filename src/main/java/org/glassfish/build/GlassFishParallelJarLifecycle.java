@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.lifecycle.mapping.DefaultLifecycleMapping;
+import org.apache.maven.lifecycle.mapping.LifecycleMapping;
+import org.apache.maven.lifecycle.mapping.LifecyclePhase;
+import org.codehaus.plexus.component.annotations.Component;
+
+/**
+ * Lifecycle of the glassfish-jar-parallel package type.
+ * Same as the glassfish-jar lifecycle, but the jar is created by the {@link ParallelJarMojo}.
+ */
+@Component(role = LifecycleMapping.class, hint = "glassfish-jar-parallel")
+public class GlassFishParallelJarLifecycle extends DefaultLifecycleMapping {
+
+    /**
+     * Creates the configured instance.
+     */
+    public GlassFishParallelJarLifecycle() {
+        super(List.of(LifecyclePhaseHelper.createLifecycle(GlassFishParallelJarLifecycle::createPhases)));
+    }
+
+
+    private static Map<String, LifecyclePhase> createPhases() {
+        final Map<String, LifecyclePhase> phases = GlassFishJarLifecycle.createPhases();
+        phases.put("package", new LifecyclePhase("org.glassfish.build:glassfishbuild-maven-plugin:parallel-jar"));
+        return phases;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.IndexWriter;
+
+/**
+ * Adds Jandex annotation indexes to the jars in the stage directory.
+ * <p>
+ * Jars are indexed in parallel. The index of the classes of a jar is stored in the jar
+ * as {@code META-INF/jandex.idx}, where the runtime looks for it instead of scanning the classes.
+ * Jars which already contain an index, either from their own build or from an earlier execution,
+ * and signed jars are not changed.
+ * <p>
+ * The {@code featuresets-dependencies} goal replaces the copied jars on every build, so an earlier
+ * execution does not leave its index in them. The index of every jar is therefore also kept in the cache
+ * directory, named by the SHA-256 of the jar without the index. A jar with the same content gets the cached
+ * index appended without reading its classes; the staging manifest is not used to find unchanged jars.
+ * The cache is in the build directory by default, so it is removed by a clean build.
+ * <p>
+ * The entries of an indexed jar are copied without decompression, see {@link JarRewriter}. The new
+ * sizes of the indexed jars are written to the staging manifest of the {@code featuresets-dependencies}
+ * goal, so the stage verification still passes.
+ */
+@Mojo(name = "index-annotations", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class IndexAnnotationsMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "indexAnnotations.";
+    private static final String INDEX_NAME = "META-INF/jandex.idx";
+    private static final String META_INF = "META-INF/";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String CACHE_SUFFIX = ".idx";
+    private static final String SHA256 = "SHA-256";
+
+    /**
+     * The directory with the jars to index.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The staging manifest written by the {@code featuresets-dependencies} goal. Ignored if it does not exist.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    /**
+     * Comma separated list of file extensions of archives to index.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * The directory with the indexes of the jars indexed by earlier executions.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "cacheDirectory",
+        defaultValue = "${project.build.directory}/index-annotations")
+    private File cacheDirectory;
+
+    /**
+     * Number of threads indexing the jars. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    private final AtomicInteger cached = new AtomicInteger();
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Path root = stageDirectory.toPath();
+        final List<Path> jars = StageFiles.listArchives(stageDirectory, archiveTypes);
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to create " + cacheDirectory, e);
+        }
+        final List<Long> sizes = Parallel.map(jars, threads, this::index);
+        final StagingManifest manifest;
+        try {
+            manifest = StagingManifest.read(stagingManifest);
+        } catch (final IOException | NumberFormatException e) {
+            throw new MojoExecutionException("Failed to read " + stagingManifest, e);
+        }
+        int count = 0;
+        boolean changed = false;
+        for (int i = 0; i < jars.size(); i++) {
+            if (sizes.get(i) >= 0) {
+                count++;
+                changed |= manifest.setSize(StageFiles.relativize(root, jars.get(i)), sizes.get(i));
+            }
+        }
+        if (changed) {
+            try {
+                manifest.write(stagingManifest);
+            } catch (final IOException e) {
+                throw new MojoExecutionException("Failed to write " + stagingManifest, e);
+            }
+        }
+        getLog().info("Indexed " + count + " jars, " + cached + " of them from the cache, " + (jars.size() - count)
+            + " jars are indexed or signed");
+    }
+
+
+    /**
+     * Adds the index to the jar, the cached one if the jar did not change since it was indexed.
+     *
+     * @param jar the staged jar
+     * @return the new size of the jar, -1 if the jar was not changed
+     * @throws IOException if the jar cannot be read or written
+     */
+    private long index(final Path jar) throws IOException {
+        try (ZipReader zip = new ZipReader(jar)) {
+            if (zip.getEntry(INDEX_NAME) != null || JarRewriter.isSigned(zip.getEntries())) {
+                return -1;
+            }
+            final Path cacheFile = cacheDirectory.toPath()
+                .resolve(Checksums.digest(jar, List.of(SHA256)).get(SHA256) + CACHE_SUFFIX);
+            final byte[] index;
+            if (Files.isRegularFile(cacheFile)) {
+                index = Files.readAllBytes(cacheFile);
+                cached.incrementAndGet();
+            } else {
+                index = createIndex(zip, jar);
+                StagingLocks.writeAtomically(new ByteArrayInputStream(index), cacheFile);
+            }
+            JarRewriter.append(zip, jar, INDEX_NAME, index);
+        }
+        return Files.size(jar);
+    }
+
+
+    private static byte[] createIndex(final ZipReader zip, final Path jar) throws IOException {
+        final Indexer indexer = new Indexer();
+        for (final RawZipEntry entry : zip.getEntries()) {
+            final String name = entry.getName();
+            // versioned classes of multi-release jars would replace the base ones
+            if (!name.endsWith(CLASS_SUFFIX) || name.startsWith(META_INF)) {
+                continue;
+            }
+            try (InputStream input = zip.openContent(entry)) {
+                indexer.index(input);
+            } catch (final IllegalArgumentException | IllegalStateException e) {
+                throw new IOException("Invalid class file " + name + " in " + jar, e);
+            }
+        }
+        final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        new IndexWriter(index).write(indexer.complete());
+        return index.toByteArray();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Writes an index of OSGi metadata of all bundles in the stage directory.
+ * <p>
+ * Manifests of the staged jars are parsed in parallel, jars without {@code Bundle-SymbolicName}
+ * are skipped. The index is a binary file written with {@link DataOutputStream}:
+ * <pre>
+ * int     magic 0x47464249 ("GFBI")
+ * short   format version 1
+ * int     string count, followed by the strings written as modified UTF-8,
+ *         the first string is empty and stands for missing values
+ * int     bundle count, followed by the bundles sorted by path:
+ *   int   path relative to the stage directory
+ *   int   symbolic name
+ *   int   version
+ *   int   export count, followed by: int package, int version
+ *   int   import count, followed by: int package, int version range, byte flags (1 = optional)
+ * </pre>
+ * All other ints are indexes to the string table.
+ */
+@Mojo(name = "index-bundles", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class IndexBundlesMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "indexBundles.";
+    private static final int MAGIC = 0x47464249;
+    private static final int FORMAT_VERSION = 1;
+    private static final int OPTIONAL = 1;
+    private static final String VERSION = "version";
+
+    /**
+     * The directory with the bundles to index.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * Comma separated list of file extensions of bundles.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * The index file.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "indexFile",
+        defaultValue = "${project.build.directory}/stage/bundles.idx")
+    private File indexFile;
+
+    /**
+     * Number of threads parsing the manifests. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Path root = stageDirectory.toPath();
+        final List<Path> archives = StageFiles.listArchives(stageDirectory, archiveTypes);
+        final List<Bundle> bundles = new ArrayList<>();
+        for (final Bundle bundle : Parallel.map(archives, threads, archive -> readBundle(root, archive))) {
+            if (bundle != null) {
+                bundles.add(bundle);
+            }
+        }
+
+        final StringTable strings = new StringTable();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(body)) {
+            output.writeInt(bundles.size());
+            for (final Bundle bundle : bundles) {
+                output.writeInt(strings.get(bundle.path));
+                output.writeInt(strings.get(bundle.symbolicName));
+                output.writeInt(strings.get(bundle.version));
+                output.writeInt(bundle.exports.size());
+                for (final String[] export : bundle.exports) {
+                    output.writeInt(strings.get(export[0]));
+                    output.writeInt(strings.get(export[1]));
+                }
+                output.writeInt(bundle.imports.size());
+                for (final String[] imported : bundle.imports) {
+                    output.writeInt(strings.get(imported[0]));
+                    output.writeInt(strings.get(imported[1]));
+                    output.writeByte(imported[2] == null ? 0 : OPTIONAL);
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to create the bundle index", e);
+        }
+
+        final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(index)) {
+            output.writeInt(MAGIC);
+            output.writeShort(FORMAT_VERSION);
+            output.writeInt(strings.values.size());
+            for (final String value : strings.values) {
+                output.writeUTF(value);
+            }
+            body.writeTo(output);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to create the bundle index", e);
+        }
+        try {
+            Files.createDirectories(indexFile.getAbsoluteFile().getParentFile().toPath());
+            StagingLocks.writeAtomically(new ByteArrayInputStream(index.toByteArray()), indexFile.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + indexFile, e);
+        }
+        getLog().info("Indexed " + bundles.size() + " bundles to " + indexFile + " (" + index.size() + " B)");
+    }
+
+
+    private static Bundle readBundle(final Path root, final Path archive) throws IOException {
+        final Manifest manifest;
+        try (JarFile jar = new JarFile(archive.toFile(), false)) {
+            manifest = jar.getManifest();
+        } catch (final IOException e) {
+            throw new IOException("Failed to read " + archive + ": " + e.getMessage(), e);
+        }
+        if (manifest == null) {
+            return null;
+        }
+        final Attributes attributes = manifest.getMainAttributes();
+        final String symbolicName = BundleHeaders.firstPath(attributes.getValue("Bundle-SymbolicName"));
+        if (symbolicName == null) {
+            return null;
+        }
+        final Bundle bundle = new Bundle(StageFiles.relativize(root, archive), symbolicName,
+            attributes.getValue("Bundle-Version"));
+        for (final BundleHeaders.Clause clause : BundleHeaders.parse(attributes.getValue("Export-Package"))) {
+            for (final String name : clause.getPaths()) {
+                bundle.exports.add(new String[] {name, clause.getAttribute(VERSION)});
+            }
+        }
+        for (final BundleHeaders.Clause clause : BundleHeaders.parse(attributes.getValue("Import-Package"))) {
+            final String optional = "optional".equals(clause.getDirective("resolution")) ? "optional" : null;
+            for (final String name : clause.getPaths()) {
+                bundle.imports.add(new String[] {name, clause.getAttribute(VERSION), optional});
+            }
+        }
+        return bundle;
+    }
+
+
+    /**
+     * OSGi metadata of a single bundle.
+     */
+    private static final class Bundle {
+
+        private final String path;
+        private final String symbolicName;
+        private final String version;
+        private final List<String[]> exports = new ArrayList<>();
+        private final List<String[]> imports = new ArrayList<>();
+
+        Bundle(final String bundlePath, final String bundleSymbolicName, final String bundleVersion) {
+            this.path = bundlePath;
+            this.symbolicName = bundleSymbolicName;
+            this.version = bundleVersion;
+        }
+    }
+
+
+    /**
+     * Deduplicated strings of the index.
+     */
+    private static final class StringTable {
+
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        StringTable() {
+            get("");
+        }
+
+        int get(final String value) {
+            return indexes.computeIfAbsent(value == null ? "" : value, k -> {
+                values.add(k);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.glassfish.build.zip.DosTime;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+import org.glassfish.build.zip.ZipWriter;
+
+/**
+ * Rewrites jars by copying raw entries, without decompression.
+ * <p>
+ * The entry data, headers and extra fields are kept, so the content and the signatures of the kept
+ * entries stay valid. The jar is replaced atomically, see {@link StagingLocks}.
+ */
+final class JarRewriter {
+
+    private static final String META_INF = "META-INF/";
+    private static final List<String> SIGNATURE_EXTENSIONS = List.of(".sf", ".rsa", ".dsa", ".ec");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private JarRewriter() {
+        // hidden
+    }
+
+
+    /**
+     * Computes the entries of the rewritten jar.
+     */
+    @FunctionalInterface
+    interface Plan {
+
+        /**
+         * Selects and orders the entries.
+         *
+         * @param entries entries of the jar in the order of the central directory
+         * @return entries to write in the order to write them
+         */
+        List<RawZipEntry> apply(List<RawZipEntry> entries);
+    }
+
+
+    /**
+     * Rewrites the jar if the plan changes the entries.
+     *
+     * @param jar the jar
+     * @param skipSigned if {@code true}, signed jars are not rewritten
+     * @param plan selects and orders the entries
+     * @return number of removed entries or -1 if the jar was not rewritten
+     * @throws IOException if the jar cannot be read or written
+     */
+    static int rewrite(final Path jar, final boolean skipSigned, final Plan plan) throws IOException {
+        return rewrite(jar, jar, skipSigned, plan);
+    }
+
+
+    /**
+     * Writes the jar to the target if the plan changes the entries.
+     *
+     * @param jar the source jar
+     * @param target the target file, may be the same as the source jar
+     * @param skipSigned if {@code true}, signed jars are not rewritten
+     * @param plan selects and orders the entries
+     * @return number of removed entries or -1 if the jar was not written
+     * @throws IOException if the jar cannot be read or written
+     */
+    static int rewrite(final Path jar, final Path target, final boolean skipSigned, final Plan plan)
+        throws IOException {
+        try (ZipReader reader = new ZipReader(jar)) {
+            final List<RawZipEntry> entries = reader.getEntries();
+            if (skipSigned && isSigned(entries)) {
+                return -1;
+            }
+            final List<RawZipEntry> planned = plan.apply(entries);
+            if (planned.equals(entries) && isInDataOrder(entries)) {
+                return -1;
+            }
+            StagingLocks.writeAtomically(target, temp -> {
+                try (ZipWriter writer = new ZipWriter(Files.newOutputStream(temp))) {
+                    for (final RawZipEntry entry : planned) {
+                        writer.copyEntry(reader, entry);
+                    }
+                }
+            });
+            return entries.size() - planned.size();
+        }
+    }
+
+
+    /**
+     * Writes the jar with an additional entry after all its entries.
+     * <p>
+     * The entry gets the latest time of the existing entries, so rewriting the same jar gives the same bytes.
+     *
+     * @param reader the source jar
+     * @param target the target file, may be the same as the source jar
+     * @param name name of the added entry
+     * @param content uncompressed content of the added entry
+     * @throws IOException if the jar cannot be read or written
+     */
+    static void append(final ZipReader reader, final Path target, final String name, final byte[] content)
+        throws IOException {
+        final List<RawZipEntry> entries = reader.getEntries();
+        final RawZipEntry added = new RawZipEntry();
+        added.setName(name);
+        added.setMethod(ZipEntry.DEFLATED);
+        added.setDosTime(entries.stream().mapToLong(RawZipEntry::getDosTime).max().orElse(DosTime.MINIMUM));
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        added.setCrc(crc.getValue());
+        added.setSize(content.length);
+        final byte[] data = deflate(content);
+        added.setCompressedSize(data.length);
+        StagingLocks.writeAtomically(target, temp -> {
+            try (ZipWriter writer = new ZipWriter(Files.newOutputStream(temp))) {
+                for (final RawZipEntry entry : entries) {
+                    writer.copyEntry(reader, entry);
+                }
+                writer.writeEntry(added, data);
+            }
+        });
+    }
+
+
+    /**
+     * Checks if the jar contains a signature.
+     *
+     * @param entries entries of the jar
+     * @return {@code true} if there is a signature file in {@code META-INF}
+     */
+    static boolean isSigned(final List<RawZipEntry> entries) {
+        for (final RawZipEntry entry : entries) {
+            final String name = entry.getName().toLowerCase(Locale.ROOT);
+            if (name.startsWith(META_INF.toLowerCase(Locale.ROOT)) && name.indexOf('/', META_INF.length()) < 0
+                && SIGNATURE_EXTENSIONS.stream().anyMatch(name::endsWith)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean isInDataOrder(final List<RawZipEntry> entries) {
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i).getLocalHeaderOffset() < entries.get(i - 1).getLocalHeaderOffset()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static byte[] deflate(final byte[] content) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 1);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                final int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.spi.ToolProvider;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+import org.codehaus.plexus.archiver.Archiver;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.util.DefaultFileSet;
+import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Creates a Java runtime image containing just the JDK modules required by the distribution.
+ * <p>
+ * The jars of the stage directory are analyzed by {@code jdeps} in parallel, the union of the required
+ * modules and the {@code additionalModules} is linked by {@code jlink} of the JDK running the build.
+ * The runtime image is packaged to the {@code runtimeFile} and optionally attached with a classifier.
+ */
+@Mojo(name = "jlink-runtime", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class JlinkRuntimeMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "jlinkRuntime.";
+
+    /**
+     * The maven project.
+     */
+    @Parameter(defaultValue = "${project}", required = true, readonly = true)
+    private MavenProject project;
+
+    /**
+     * Helper attaching the runtime to the project.
+     */
+    @Component
+    private MavenProjectHelper projectHelper;
+
+    /**
+     * Manager used to look up the zip archiver.
+     */
+    @Component
+    private ArchiverManager archiverManager;
+
+    /**
+     * The directory with the jars to analyze.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * Comma separated list of file extensions of archives to analyze.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * Comma separated list of modules added to the runtime, ie. modules loaded by reflection
+     * or providing services, like {@code jdk.crypto.ec} or {@code jdk.localedata}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "additionalModules")
+    private List<String> additionalModules;
+
+    /**
+     * Comma separated list of additional {@code jlink} options.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "jlinkOptions",
+        defaultValue = "--strip-debug,--no-header-files,--no-man-pages")
+    private List<String> jlinkOptions;
+
+    /**
+     * The directory of the runtime image. It is deleted first if it exists.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputDirectory", defaultValue = "${project.build.directory}/runtime")
+    private File outputDirectory;
+
+    /**
+     * The packaged runtime image.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "runtimeFile",
+        defaultValue = "${project.build.directory}/${project.build.finalName}-runtime.zip")
+    private File runtimeFile;
+
+    /**
+     * If set, the packaged runtime image is attached to the project with this classifier.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "classifier")
+    private String classifier;
+
+    /**
+     * Number of threads running {@code jdeps}. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Set<String> modules = new TreeSet<>();
+        if (additionalModules != null) {
+            modules.addAll(additionalModules);
+        }
+        final List<Path> jars = StageFiles.listArchives(stageDirectory, archiveTypes);
+        for (final Set<String> required : Parallel.map(jars, threads, this::requiredModules)) {
+            modules.addAll(required);
+        }
+        if (modules.isEmpty()) {
+            modules.add("java.base");
+        }
+        getLog().info("Linking runtime with modules " + String.join(",", modules));
+
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("--add-modules");
+        arguments.add(String.join(",", modules));
+        arguments.add("--output");
+        arguments.add(outputDirectory.getAbsolutePath());
+        if (jlinkOptions != null) {
+            arguments.addAll(jlinkOptions);
+        }
+        try {
+            FileUtils.deleteDirectory(outputDirectory);
+            run("jlink", arguments);
+
+            final Archiver archiver = archiverManager.getArchiver("zip");
+            archiver.addFileSet(DefaultFileSet.fileSet(outputDirectory).prefixed(outputDirectory.getName() + "/"));
+            archiver.setDestFile(runtimeFile);
+            archiver.createArchive();
+        } catch (final IOException | ArchiverException | NoSuchArchiverException e) {
+            throw new MojoExecutionException("Failed to create the runtime " + runtimeFile, e);
+        }
+        if (classifier != null && !classifier.isEmpty()) {
+            projectHelper.attachArtifact(project, "zip", classifier, runtimeFile);
+        }
+    }
+
+
+    private Set<String> requiredModules(final Path jar) throws IOException {
+        final String output = run("jdeps", List.of("--ignore-missing-deps", "--multi-release",
+            String.valueOf(Runtime.version().feature()), "--print-module-deps", jar.toString()));
+        final Set<String> modules = new TreeSet<>();
+        for (final String module : output.strip().split(",")) {
+            if (!module.isBlank()) {
+                modules.add(module.strip());
+            }
+        }
+        getLog().debug(jar + " requires " + modules);
+        return modules;
+    }
+
+
+    private static String run(final String tool, final List<String> arguments) throws IOException {
+        final ToolProvider provider = ToolProvider.findFirst(tool)
+            .orElseThrow(() -> new IOException("The JDK running the build does not provide " + tool));
+        final StringWriter output = new StringWriter();
+        final StringWriter error = new StringWriter();
+        final int result;
+        try (PrintWriter out = new PrintWriter(output); PrintWriter err = new PrintWriter(error)) {
+            result = provider.run(out, err, arguments.toArray(String[]::new));
+        }
+        if (result != 0) {
+            throw new IOException(tool + " " + String.join(" ", arguments) + " failed with exit code " + result
+                + ": " + error + output);
+        }
+        return output.toString();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -50,14 +50,10 @@ final class LifecyclePhaseHelper {
     }
 
 
-    static LifecyclePhase createGenerateResourcesPhase(final String descriptorResource) {
-        final LifecyclePhase phase = new LifecyclePhase(
-            "org.glassfish.build:glassfishbuild-maven-plugin:unpack-assembly-descriptor");
-        final LifecycleMojo mojo = phase.getMojos().get(0);
+    static Xpp3Dom createGenerateAssemblyDescriptorCfg(final LifecycleMojo mojo, final String descriptorFilename) {
         final ConfigurationElement cfg = getOrCreateConfiguration(mojo);
-        cfg.addChild(new PropertyElement("descriptorResource", descriptorResource));
-        mojo.setConfiguration(cfg);
-        return phase;
+        cfg.addChild(new PropertyElement("descriptorResource", descriptorFilename));
+        return cfg;
     }
 
 
@@ -70,6 +66,23 @@ final class LifecyclePhaseHelper {
     }
 
 
+    /**
+     * Runs the update-distribution goal instead of the assembly plugin only if incremental packaging
+     * is enabled, with the same input and output.
+     *
+     * @param mojo the update-distribution mojo
+     * @return the configuration
+     */
+    static Xpp3Dom createUpdateDistributionCfg(final LifecycleMojo mojo) {
+        final ConfigurationElement cfg = getOrCreateConfiguration(mojo);
+        cfg.addChild(new PropertyElement("requireIncrementalPackaging", "true"));
+        cfg.addChild(new PropertyElement("stageDirectory", "${glassfishbuild-maven-plugin.assemblyInputDirectory}"));
+        cfg.addChild(new PropertyElement("outputFile",
+            "${project.build.directory}" + File.separatorChar + "${project.build.finalName}.zip"));
+        return cfg;
+    }
+
+
     /**
      * The assembly plugin attaches the artifact, but doesn't set it as main artifact except for pom
      * types. The install plugin then fails the build OR if configured, prints a warning.
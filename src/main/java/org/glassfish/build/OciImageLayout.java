@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes an OCI image layout directory: the {@code oci-layout} marker, the {@code index.json}
+ * and content addressed blobs in {@code blobs/sha256}.
+ * <p>
+ * Layers are gzip compressed tar archives written by the {@link TarWriter}. A layer is archived once just
+ * to compute its digest; if a blob of the same content was written before, it is reused without
+ * compressing the content again.
+ */
+final class OciImageLayout {
+
+    static final String LAYER_MEDIA_TYPE = "application/vnd.oci.image.layer.v1.tar+gzip";
+
+    static final String CONFIG_MEDIA_TYPE = "application/vnd.oci.image.config.v1+json";
+
+    static final String MANIFEST_MEDIA_TYPE = "application/vnd.oci.image.manifest.v1+json";
+
+    private static final String INDEX_MEDIA_TYPE = "application/vnd.oci.image.index.v1+json";
+
+    private static final String SHA256 = "sha256";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    private final Path blobs;
+
+    /**
+     * Creates the layout writer.
+     *
+     * @param layoutDirectory the directory of the image layout
+     * @throws IOException if the directory cannot be created
+     */
+    OciImageLayout(final Path layoutDirectory) throws IOException {
+        this.directory = layoutDirectory;
+        this.blobs = layoutDirectory.resolve("blobs").resolve(SHA256);
+        Files.createDirectories(blobs);
+    }
+
+
+    /**
+     * Content of a layer.
+     */
+    @FunctionalInterface
+    interface Layer {
+
+        /**
+         * Writes the entries of the layer.
+         *
+         * @param tar the layer archive
+         * @throws IOException if the content cannot be written
+         */
+        void writeTo(TarWriter tar) throws IOException;
+    }
+
+
+    /**
+     * Adds the layer.
+     *
+     * @param layer the content of the layer
+     * @param modified modification time of all entries in seconds since the epoch
+     * @param known digests of blobs by digests of the uncompressed layers written before, updated with the layer
+     * @return descriptor of the layer blob, the digest of the uncompressed layer as the diff id
+     * @throws IOException if the layer cannot be written
+     */
+    Descriptor addLayer(final Layer layer, final long modified, final Map<String, String> known)
+        throws IOException {
+        final MessageDigest uncompressed = newDigest();
+        try (TarWriter tar = new TarWriter(new DigestOutputStream(OutputStream.nullOutputStream(), uncompressed),
+            modified)) {
+            layer.writeTo(tar);
+        }
+        final String diffId = toDigest(uncompressed);
+        final String reused = known.get(diffId);
+        if (reused != null) {
+            final Path blob = getBlob(reused);
+            if (Files.isRegularFile(blob)) {
+                return new Descriptor(LAYER_MEDIA_TYPE, reused, Files.size(blob), diffId);
+            }
+        }
+
+        final Path temp = Files.createTempFile(blobs, "layer", ".tmp");
+        try {
+            final MessageDigest compressed = newDigest();
+            final MessageDigest verified = newDigest();
+            try (TarWriter tar = new TarWriter(new DigestOutputStream(new GZIPOutputStream(new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE), compressed), BUFFER_SIZE),
+                verified), modified)) {
+                layer.writeTo(tar);
+            }
+            if (!diffId.equals(toDigest(verified))) {
+                throw new IOException("The content of the layer changed while it was written");
+            }
+            final String digest = toDigest(compressed);
+            final long size = Files.size(temp);
+            Files.move(temp, getBlob(digest), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            known.put(diffId, digest);
+            return new Descriptor(LAYER_MEDIA_TYPE, digest, size, diffId);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    /**
+     * Adds the blob.
+     *
+     * @param mediaType the media type of the content
+     * @param content the content
+     * @return descriptor of the blob
+     * @throws IOException if the blob cannot be written
+     */
+    Descriptor addBlob(final String mediaType, final byte[] content) throws IOException {
+        final MessageDigest sha = newDigest();
+        sha.update(content);
+        final String digest = toDigest(sha);
+        final Path blob = getBlob(digest);
+        if (!Files.isRegularFile(blob) || Files.size(blob) != content.length) {
+            StagingLocks.writeAtomically(blob, target -> Files.write(target, content));
+        }
+        return new Descriptor(mediaType, digest, content.length, null);
+    }
+
+
+    /**
+     * Writes the index referencing the image manifest and the layout marker.
+     *
+     * @param manifest descriptor of the image manifest
+     * @param refName the reference name of the image, ie. its tag
+     * @throws IOException if the files cannot be written
+     */
+    void writeIndex(final Descriptor manifest, final String refName) throws IOException {
+        final String index = "{\"schemaVersion\":2,\"mediaType\":" + quote(INDEX_MEDIA_TYPE) + ",\"manifests\":["
+            + manifest.toJson(Map.of("org.opencontainers.image.ref.name", refName)) + "]}";
+        Files.write(directory.resolve("index.json"), index.getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("oci-layout"),
+            "{\"imageLayoutVersion\":\"1.0.0\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Deletes blobs written by previous builds which are not referenced any more.
+     *
+     * @param digests digests of the referenced blobs
+     * @return number of deleted blobs
+     * @throws IOException if the blobs cannot be listed or deleted
+     */
+    int removeUnreferenced(final Set<String> digests) throws IOException {
+        final Set<Path> referenced = digests.stream().map(this::getBlob).collect(Collectors.toSet());
+        int removed = 0;
+        try (Stream<Path> files = Files.list(blobs)) {
+            for (final Path file : files.collect(Collectors.toList())) {
+                if (!referenced.contains(file)) {
+                    Files.delete(file);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+
+    /**
+     * Quotes the value as a JSON string.
+     *
+     * @param value the value
+     * @return the JSON string literal
+     */
+    @SuppressWarnings("checkstyle:MagicNumber")
+    static String quote(final String value) {
+        final StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+
+    private Path getBlob(final String digest) {
+        return blobs.resolve(digest.substring(SHA256.length() + 1));
+    }
+
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private static String toDigest(final MessageDigest digest) {
+        return SHA256 + ":" + Checksums.toHex(digest.digest());
+    }
+
+
+    /**
+     * Content descriptor of a blob.
+     */
+    static final class Descriptor {
+
+        private final String mediaType;
+        private final String digest;
+        private final long size;
+        private final String diffId;
+
+        Descriptor(final String mediaType, final String digest, final long size, final String diffId) {
+            this.mediaType = mediaType;
+            this.digest = digest;
+            this.size = size;
+            this.diffId = diffId;
+        }
+
+
+        /**
+         * @return digest of the blob, ie. {@code sha256:<hex>}
+         */
+        String getDigest() {
+            return digest;
+        }
+
+
+        /**
+         * @return size of the blob in bytes
+         */
+        long getSize() {
+            return size;
+        }
+
+
+        /**
+         * @return digest of the uncompressed layer, {@code null} for other blobs
+         */
+        String getDiffId() {
+            return diffId;
+        }
+
+
+        /**
+         * Writes the descriptor as JSON.
+         *
+         * @param annotations annotations of the descriptor, may be empty
+         * @return the JSON object
+         */
+        String toJson(final Map<String, String> annotations) {
+            final StringBuilder json = new StringBuilder();
+            json.append("{\"mediaType\":").append(quote(mediaType)).append(",\"digest\":").append(quote(digest))
+                .append(",\"size\":").append(size);
+            if (!annotations.isEmpty()) {
+                json.append(",\"annotations\":{");
+                annotations.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                    if (json.charAt(json.length() - 1) != '{') {
+                        json.append(',');
+                    }
+                    json.append(quote(entry.getKey())).append(':').append(quote(entry.getValue()));
+                });
+                json.append('}');
+            }
+            return json.append('}').toString();
+        }
+    }
+}
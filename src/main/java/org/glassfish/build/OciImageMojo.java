@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.SelectorUtils;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+
+import static org.glassfish.build.OciImageLayout.quote;
+
+/**
+ * Writes the stage directory as an OCI image layout, without a container engine or network access.
+ * <p>
+ * The files are split into layers by how often they change: third-party dependencies, GlassFish
+ * modules and other files, and configuration. An archive is classified by the groupId of the Maven
+ * project recorded inside it, so third-party jars unpacked from a GlassFish distribution are placed
+ * in the third-party layer; other files by the dependency the staging manifest records for them.
+ * Layers are reproducible tar archives, so a layer with unchanged content has the same digest in every
+ * build and is not pulled again. The image contains just the distribution, it is meant to be added on top
+ * of a base image providing the JDK.
+ * <p>
+ * The goal is part of the {@code glassfish-distribution} lifecycle, but skipped unless
+ * {@code gfbuild.ociImage.skip} is {@code false}.
+ */
+@Mojo(name = "oci-image", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class OciImageMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "ociImage.";
+
+    /**
+     * Modification time of entries without {@code outputTimestamp}, one second after the epoch,
+     * as some tools take zero as no time.
+     */
+    private static final long DEFAULT_MODIFIED = 1;
+
+    private static final String THIRD_PARTY = "third-party";
+
+    private static final String GLASSFISH = "glassfish";
+
+    private static final String CONFIG = "config";
+
+    private static final String MAVEN_DIRECTORY = "META-INF/maven/";
+
+    private static final String POM_PROPERTIES = "/pom.properties";
+
+    /**
+     * Segments of {@code <groupId>/<artifactId>/pom.properties} in the Maven directory.
+     */
+    private static final int POM_PROPERTIES_SEGMENTS = 3;
+
+    /**
+     * The maven project.
+     */
+    @Parameter(defaultValue = "${project}", required = true, readonly = true)
+    private MavenProject project;
+
+    /**
+     * The stage directory written to the image.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The staging manifest written by the {@code featuresets-dependencies} goal, used to find
+     * the dependency of staged files.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    /**
+     * The directory of the image layout.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputDirectory", defaultValue = "${project.build.directory}/oci-image")
+    private File outputDirectory;
+
+    /**
+     * Directory in the image where the content of the stage directory is placed.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "imageDirectory", defaultValue = "opt")
+    private String imageDirectory;
+
+    /**
+     * The reference name of the image in the layout, ie. its tag.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "tag", defaultValue = "${project.version}")
+    private String tag;
+
+    /**
+     * Comma separated list of prefixes of groupIds of GlassFish modules. Files staged from dependencies
+     * with other groupIds are placed in the third-party layer.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "internalGroupIds", defaultValue = "org.glassfish.main")
+    private List<String> internalGroupIds;
+
+    /**
+     * Comma separated list of file extensions of archives classified by the Maven project recorded
+     * in {@code META-INF/maven/<groupId>/<artifactId>/pom.properties}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar,war,rar")
+    private List<String> archiveTypes;
+
+    /**
+     * Comma separated list of path patterns of files placed in the configuration layer.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "configIncludes", defaultValue = "**/config/**,**/domains/**")
+    private List<String> configIncludes;
+
+    /**
+     * The command run by containers of the image, optional.
+     */
+    @Parameter
+    private List<String> entrypoint;
+
+    /**
+     * The working directory of containers of the image, optional.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "workingDir")
+    private String workingDir;
+
+    /**
+     * The CPU architecture of the image.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "architecture", defaultValue = "amd64")
+    private String architecture;
+
+    /**
+     * The operating system of the image.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "os", defaultValue = "linux")
+    private String os;
+
+    /**
+     * Timestamp of all files and of the image, in seconds since the epoch or in the ISO-8601 format.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Skip goal execution, skipped by default.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "true")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().debug("Goal is skipped");
+            return;
+        }
+        final Instant created = parseTimestamp();
+        final long modified = created == null ? DEFAULT_MODIFIED : created.getEpochSecond();
+        final Map<String, List<Path>> layers = splitLayers();
+        final String root = imageDirectory.replaceAll("^/+|/+$", "");
+        final File layersCache = new File(outputDirectory.getPath() + ".layers");
+        try {
+            final OciImageLayout layout = new OciImageLayout(outputDirectory.toPath());
+            final Map<String, String> known = readLayersCache(layersCache);
+            final Map<String, String> used = new TreeMap<>();
+            final List<OciImageLayout.Descriptor> descriptors = new ArrayList<>();
+            final List<String> history = new ArrayList<>();
+            for (final Map.Entry<String, List<Path>> layer : layers.entrySet()) {
+                if (layer.getValue().isEmpty()) {
+                    continue;
+                }
+                final OciImageLayout.Descriptor descriptor = layout
+                    .addLayer(tar -> writeLayer(tar, root, layer.getValue()), modified, known);
+                getLog().info("Layer " + layer.getKey() + ": " + layer.getValue().size() + " files, "
+                    + descriptor.getSize() + " bytes, " + descriptor.getDigest());
+                descriptors.add(descriptor);
+                history.add("glassfishbuild-maven-plugin:oci-image " + layer.getKey());
+                used.put(descriptor.getDiffId(), descriptor.getDigest());
+            }
+            final OciImageLayout.Descriptor config = layout.addBlob(OciImageLayout.CONFIG_MEDIA_TYPE,
+                toConfig(descriptors, history, created).getBytes(StandardCharsets.UTF_8));
+            final OciImageLayout.Descriptor manifest = layout.addBlob(OciImageLayout.MANIFEST_MEDIA_TYPE,
+                toManifest(config, descriptors).getBytes(StandardCharsets.UTF_8));
+            layout.writeIndex(manifest, tag);
+
+            final Set<String> referenced = new HashSet<>(used.values());
+            referenced.add(config.getDigest());
+            referenced.add(manifest.getDigest());
+            final int removed = layout.removeUnreferenced(referenced);
+            if (removed > 0) {
+                getLog().debug("Removed " + removed + " unreferenced blobs");
+            }
+            writeLayersCache(layersCache, used);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write the image layout " + outputDirectory, e);
+        }
+        getLog().info("Image " + tag + " written to " + outputDirectory);
+    }
+
+
+    private Map<String, List<Path>> splitLayers() throws MojoExecutionException {
+        final Map<String, String> artifacts = new HashMap<>();
+        try {
+            for (final StagingManifest.Entry entry : StagingManifest.read(stagingManifest).getEntries()) {
+                artifacts.put(entry.getPath(), entry.getArtifact());
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to read " + stagingManifest, e);
+        }
+        final Map<String, List<Path>> layers = new LinkedHashMap<>();
+        layers.put(THIRD_PARTY, new ArrayList<>());
+        layers.put(GLASSFISH, new ArrayList<>());
+        layers.put(CONFIG, new ArrayList<>());
+        final Path stage = stageDirectory.toPath();
+        int files = 0;
+        int unknown = 0;
+        for (final Path file : StageFiles.listFiles(stageDirectory)) {
+            final String path = StageFiles.relativize(stage, file);
+            if (configIncludes.stream().anyMatch(pattern -> SelectorUtils.matchPath(pattern.strip(), path))) {
+                layers.get(CONFIG).add(file);
+                continue;
+            }
+            files++;
+            Set<String> groupIds = StageFiles.hasExtension(file, archiveTypes) ? getEmbeddedGroupIds(file) : Set.of();
+            if (groupIds.isEmpty()) {
+                final String artifact = artifacts.get(path);
+                groupIds = artifact == null ? Set.of() : Set.of(artifact.substring(0, artifact.indexOf(':')));
+            }
+            if (groupIds.isEmpty()) {
+                unknown++;
+                layers.get(GLASSFISH).add(file);
+            } else if (groupIds.stream().noneMatch(this::isInternal)) {
+                layers.get(THIRD_PARTY).add(file);
+            } else {
+                layers.get(GLASSFISH).add(file);
+            }
+        }
+        if (unknown * 2 > files) {
+            getLog().warn(unknown + " of " + files + " files have no known origin and are placed in the "
+                + GLASSFISH + " layer, check the staging manifest " + stagingManifest);
+        }
+        return layers;
+    }
+
+
+    private boolean isInternal(final String groupId) {
+        return internalGroupIds.stream().anyMatch(prefix -> groupId.startsWith(prefix.strip()));
+    }
+
+
+    /**
+     * Get the groupIds of the Maven projects recorded in the archive. A shaded archive may contain more.
+     *
+     * @param archive the archive
+     * @return the groupIds, empty if there is none or the archive cannot be read
+     */
+    private Set<String> getEmbeddedGroupIds(final Path archive) {
+        final Set<String> groupIds = new HashSet<>();
+        try (ZipReader reader = new ZipReader(archive)) {
+            for (final RawZipEntry entry : reader.getEntries()) {
+                final String name = entry.getName();
+                if (name.startsWith(MAVEN_DIRECTORY) && name.endsWith(POM_PROPERTIES)) {
+                    final String[] segments = name.substring(MAVEN_DIRECTORY.length()).split("/");
+                    if (segments.length == POM_PROPERTIES_SEGMENTS) {
+                        groupIds.add(segments[0]);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            getLog().debug("Cannot read " + archive + ": " + e.getMessage());
+        }
+        return groupIds;
+    }
+
+
+    private void writeLayer(final TarWriter tar, final String root, final List<Path> files) throws IOException {
+        final Path stage = stageDirectory.toPath();
+        final Set<String> directories = new HashSet<>();
+        for (final Path file : files) {
+            final String path = root.isEmpty() ? StageFiles.relativize(stage, file)
+                : root + "/" + StageFiles.relativize(stage, file);
+            for (int slash = path.indexOf('/'); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                final String directory = path.substring(0, slash);
+                if (directories.add(directory)) {
+                    tar.addDirectory(directory);
+                }
+            }
+            tar.addFile(path, file, isExecutable(file));
+        }
+    }
+
+
+    private static boolean isExecutable(final Path file) throws IOException {
+        if (Files.getFileAttributeView(file, PosixFileAttributeView.class) == null) {
+            return Files.isExecutable(file);
+        }
+        return Files.getPosixFilePermissions(file).contains(PosixFilePermission.OWNER_EXECUTE);
+    }
+
+
+    private String toConfig(final List<OciImageLayout.Descriptor> layers, final List<String> history,
+        final Instant created) {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\"architecture\":").append(quote(architecture)).append(",\"config\":{");
+        final List<String> config = new ArrayList<>();
+        if (entrypoint != null && !entrypoint.isEmpty()) {
+            config.add("\"Entrypoint\":" + toArray(entrypoint));
+        }
+        if (workingDir != null && !workingDir.isEmpty()) {
+            config.add("\"WorkingDir\":" + quote(workingDir));
+        }
+        json.append(String.join(",", config)).append('}');
+        if (created != null) {
+            json.append(",\"created\":").append(quote(created.toString()));
+        }
+        json.append(",\"history\":[");
+        for (int i = 0; i < history.size(); i++) {
+            json.append(i == 0 ? "" : ",").append("{\"created_by\":").append(quote(history.get(i)));
+            if (created != null) {
+                json.append(",\"created\":").append(quote(created.toString()));
+            }
+            json.append('}');
+        }
+        json.append("],\"os\":").append(quote(os)).append(",\"rootfs\":{\"diff_ids\":[");
+        for (int i = 0; i < layers.size(); i++) {
+            json.append(i == 0 ? "" : ",").append(quote(layers.get(i).getDiffId()));
+        }
+        return json.append("],\"type\":\"layers\"}}").toString();
+    }
+
+
+    private String toManifest(final OciImageLayout.Descriptor config, final List<OciImageLayout.Descriptor> layers) {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\"schemaVersion\":2,\"mediaType\":").append(quote(OciImageLayout.MANIFEST_MEDIA_TYPE))
+            .append(",\"config\":").append(config.toJson(Map.of())).append(",\"layers\":[");
+        for (int i = 0; i < layers.size(); i++) {
+            json.append(i == 0 ? "" : ",").append(layers.get(i).toJson(Map.of()));
+        }
+        json.append("],\"annotations\":{\"org.opencontainers.image.version\":").append(quote(project.getVersion()));
+        return json.append("}}").toString();
+    }
+
+
+    private static String toArray(final List<String> values) {
+        final List<String> quoted = new ArrayList<>();
+        for (final String value : values) {
+            quoted.add(quote(value));
+        }
+        return "[" + String.join(",", quoted) + "]";
+    }
+
+
+    private Instant parseTimestamp() throws MojoExecutionException {
+        // same rules as the project.build.outputTimestamp of the maven archiver
+        if (outputTimestamp == null || outputTimestamp.length() < 2) {
+            return null;
+        }
+        try {
+            if (outputTimestamp.chars().allMatch(Character::isDigit)) {
+                return Instant.ofEpochSecond(Long.parseLong(outputTimestamp));
+            }
+            return OffsetDateTime.parse(outputTimestamp).toInstant();
+        } catch (final DateTimeParseException | NumberFormatException e) {
+            throw new MojoExecutionException("Invalid output timestamp: " + outputTimestamp, e);
+        }
+    }
+
+
+    /**
+     * Reads digests of compressed layers by digests of uncompressed layers written by the previous build.
+     */
+    private static Map<String, String> readLayersCache(final File file) throws IOException {
+        final Map<String, String> known = new HashMap<>();
+        if (file.isFile()) {
+            for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                final String[] digests = line.split(" ");
+                if (digests.length == 2) {
+                    known.put(digests[0], digests[1]);
+                }
+            }
+        }
+        return known;
+    }
+
+
+    private static void writeLayersCache(final File file, final Map<String, String> used) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (final Map.Entry<String, String> layer : used.entrySet()) {
+            lines.add(layer.getKey() + " " + layer.getValue());
+        }
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Runs independent tasks over a collection on a thread pool.
+ */
+final class Parallel {
+
+    private Parallel() {
+        // hidden
+    }
+
+
+    /**
+     * Task processing a single item.
+     *
+     * @param <T> item type
+     * @param <R> result type
+     */
+    @FunctionalInterface
+    interface Task<T, R> {
+
+        /**
+         * Processes the item.
+         *
+         * @param item the item to process
+         * @return the result
+         * @throws IOException if the item cannot be processed
+         */
+        R apply(T item) throws IOException;
+    }
+
+
+    /**
+     * Resolves the configured number of threads.
+     *
+     * @param threads configured number of threads
+     * @return the configured number or the number of processors if it is zero or less
+     */
+    static int threads(final int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+
+    /**
+     * Applies the task to all items in parallel.
+     *
+     * @param <T> item type
+     * @param <R> result type
+     * @param items the items to process
+     * @param threads number of threads, zero or less means the number of processors
+     * @param task the task to apply
+     * @return results in the order of the items
+     * @throws MojoExecutionException if any task failed or the thread was interrupted
+     */
+    static <T, R> List<R> map(final Collection<T> items, final int threads, final Task<T, R> task)
+        throws MojoExecutionException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads(threads),
+            Math.max(1, items.size())));
+        try {
+            final List<Future<R>> futures = new ArrayList<>(items.size());
+            for (final T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+            final List<R> results = new ArrayList<>(items.size());
+            for (final Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final ExecutionException e) {
+            throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
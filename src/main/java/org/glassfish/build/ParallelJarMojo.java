@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.glassfish.build.zip.DosTime;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipWriter;
+
+/**
+ * Packages the compiled classes to a jar file, compressing the entries in parallel.
+ * <p>
+ * The entries are sorted by name and all of them get the same timestamp, so the jar is
+ * reproducible. The manifest is taken from the output directory as generated by the
+ * maven-bundle-plugin and is always the first entry, as required by the {@code JarInputStream}.
+ * <p>
+ * Used by the {@code glassfish-jar-parallel} packaging instead of the maven-jar-plugin.
+ */
+@Mojo(name = "parallel-jar", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class ParallelJarMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "parallelJar.";
+    private static final String MANIFEST_DIR = "META-INF/";
+    private static final String MANIFEST = MANIFEST_DIR + "MANIFEST.MF";
+    private static final String DEFAULT_MANIFEST = "Manifest-Version: 1.0\r\nCreated-By: glassfishbuild\r\n\r\n";
+    private static final long DIRECTORY_ATTRIBUTES = 040755L << 16;
+    private static final long FILE_ATTRIBUTES = 0100644L << 16;
+    private static final int BUFFER_SIZE = 8192;
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Directory with the content of the jar.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "classesDirectory", defaultValue = "${project.build.outputDirectory}")
+    private File classesDirectory;
+
+    /**
+     * The jar file to create. It is set as the main artifact of the project.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputFile",
+        defaultValue = "${project.build.directory}/${project.build.finalName}.jar")
+    private File outputFile;
+
+    /**
+     * If {@code false}, the entries are just stored. Useful for fast developer builds.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "compress", defaultValue = "true")
+    private boolean compress;
+
+    /**
+     * Compression level from 1 to 9.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "compressionLevel", defaultValue = "6")
+    private int compressionLevel;
+
+    /**
+     * Number of threads compressing the entries. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Timestamp of all entries, seconds since the epoch or an ISO-8601 date time.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final long dosTime;
+        try {
+            dosTime = DosTime.parseOutputTimestamp(outputTimestamp);
+        } catch (final IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final List<String> names = listEntries();
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        final ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            final List<Future<Compressed>> entries = new ArrayList<>(names.size());
+            for (final String name : names) {
+                entries.add(executor.submit(() -> compress(name, dosTime)));
+            }
+            Files.createDirectories(outputFile.getParentFile().toPath());
+            try (ZipWriter writer = new ZipWriter(Files.newOutputStream(outputFile.toPath()))) {
+                for (final Future<Compressed> entry : entries) {
+                    final Compressed compressed = entry.get();
+                    writer.writeEntry(compressed.entry, compressed.data);
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to create " + outputFile, e);
+        } catch (final ExecutionException e) {
+            throw new MojoExecutionException("Failed to create " + outputFile, e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while creating " + outputFile, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        project.getArtifact().setFile(outputFile);
+        getLog().info("Created " + outputFile + " with " + names.size() + " entries");
+    }
+
+
+    /**
+     * Lists the entry names in the order they will be written: the manifest first,
+     * everything else sorted by name.
+     */
+    private List<String> listEntries() throws MojoExecutionException {
+        final Path root = classesDirectory.toPath();
+        final List<String> names = new ArrayList<>();
+        names.add(MANIFEST_DIR);
+        names.add(MANIFEST);
+        if (!Files.isDirectory(root)) {
+            getLog().warn("The directory " + classesDirectory + " does not exist, the jar will contain"
+                + " just a manifest");
+            return names;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            names.addAll(paths.filter(path -> !path.equals(root))
+                .map(path -> toEntryName(root, path))
+                .filter(name -> !name.equals(MANIFEST_DIR) && !name.equals(MANIFEST))
+                .sorted()
+                .collect(Collectors.toList()));
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to list " + classesDirectory, e);
+        }
+        return names;
+    }
+
+
+    private Compressed compress(final String name, final long dosTime) throws IOException {
+        final RawZipEntry entry = new RawZipEntry();
+        entry.setName(name);
+        entry.setDosTime(dosTime);
+        if (entry.isDirectory()) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setExternalAttributes(DIRECTORY_ATTRIBUTES);
+            return new Compressed(entry, new byte[0]);
+        }
+        entry.setExternalAttributes(FILE_ATTRIBUTES);
+        final Path file = classesDirectory.toPath().resolve(name);
+        final byte[] content;
+        if (MANIFEST.equals(name) && !Files.exists(file)) {
+            getLog().warn("No manifest found in " + classesDirectory + ", generating a default one.");
+            content = DEFAULT_MANIFEST.getBytes(StandardCharsets.UTF_8);
+        } else {
+            content = Files.readAllBytes(file);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        entry.setCrc(crc.getValue());
+        entry.setSize(content.length);
+        final byte[] data = compress ? deflate(content) : null;
+        // incompressible content would just grow
+        if (data == null || data.length >= content.length) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setCompressedSize(content.length);
+            return new Compressed(entry, content);
+        }
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setCompressedSize(data.length);
+        return new Compressed(entry, data);
+    }
+
+
+    private byte[] deflate(final byte[] content) {
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 1);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                final int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+
+    private static String toEntryName(final Path root, final Path path) {
+        final StringBuilder name = new StringBuilder();
+        for (final Path element : root.relativize(path)) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(element);
+        }
+        if (Files.isDirectory(path)) {
+            name.append('/');
+        }
+        return name.toString();
+    }
+
+
+    /**
+     * Entry ready to be written.
+     */
+    private static final class Compressed {
+
+        private final RawZipEntry entry;
+        private final byte[] data;
+
+        Compressed(final RawZipEntry rawEntry, final byte[] entryData) {
+            this.entry = rawEntry;
+            this.data = entryData;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Collects the POM files an artifact descriptor is built from: the POM of the artifact, its parents
+ * and the BOMs imported by them, recursively.
+ * <p>
+ * The POMs are read without building the effective model. Versions of imported BOMs are interpolated
+ * with the properties of the POM and its parents; imports with unresolvable versions are skipped,
+ * the POM declaring them is part of the chain anyway.
+ */
+final class PomChain {
+
+    private static final String IMPORT = "import";
+    private static final String POM = "pom";
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+    private static final int MAX_INTERPOLATIONS = 16;
+
+    private PomChain() {
+        // hidden
+    }
+
+
+    /**
+     * Collects the POM files of the artifact.
+     *
+     * @param session the repository session
+     * @param artifact the artifact
+     * @return the POM files, the first one is the POM of the artifact; files may not exist
+     */
+    static List<File> collect(final RepositorySystemSession session, final Artifact artifact) {
+        final List<File> files = new ArrayList<>();
+        add(session, toPom(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()),
+            new HashSet<>(), files);
+        return files;
+    }
+
+
+    private static void add(final RepositorySystemSession session, final Artifact pom, final Set<String> visited,
+        final List<File> files) {
+        if (!visited.add(pom.toString())) {
+            return;
+        }
+        // the POM and its parents, child first
+        final List<Model> models = new ArrayList<>();
+        Artifact current = pom;
+        while (current != null) {
+            final File file = ResolverCache.getPomFile(session, current);
+            files.add(file);
+            final Model model = read(file);
+            if (model == null) {
+                break;
+            }
+            models.add(model);
+            final Parent parent = model.getParent();
+            current = parent == null ? null : toPom(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+            if (current != null && !visited.add(current.toString())) {
+                break;
+            }
+        }
+        if (models.isEmpty()) {
+            return;
+        }
+        final Properties properties = new Properties();
+        for (int i = models.size() - 1; i >= 0; i--) {
+            properties.putAll(models.get(i).getProperties());
+        }
+        properties.setProperty("project.groupId", pom.getGroupId());
+        properties.setProperty("project.version", pom.getVersion());
+        for (final Model model : models) {
+            if (model.getDependencyManagement() == null) {
+                continue;
+            }
+            for (final Dependency dependency : model.getDependencyManagement().getDependencies()) {
+                if (!IMPORT.equals(dependency.getScope()) || !POM.equals(dependency.getType())) {
+                    continue;
+                }
+                final String groupId = interpolate(dependency.getGroupId(), properties);
+                final String artifactId = interpolate(dependency.getArtifactId(), properties);
+                final String version = interpolate(dependency.getVersion(), properties);
+                if (groupId != null && artifactId != null && version != null) {
+                    add(session, toPom(groupId, artifactId, version), visited, files);
+                }
+            }
+        }
+    }
+
+
+    private static Model read(final File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            return new MavenXpp3Reader().read(input, false);
+        } catch (final IOException | XmlPullParserException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Replaces the properties in the value.
+     *
+     * @return the value or {@code null} if it is not set or cannot be interpolated
+     */
+    private static String interpolate(final String value, final Properties properties) {
+        if (value == null) {
+            return null;
+        }
+        String result = value;
+        for (int i = 0; i < MAX_INTERPOLATIONS && result.contains("${"); i++) {
+            final Matcher matcher = PROPERTY.matcher(result);
+            final StringBuilder replaced = new StringBuilder();
+            while (matcher.find()) {
+                final String property = properties.getProperty(matcher.group(1));
+                matcher.appendReplacement(replaced,
+                    Matcher.quoteReplacement(property == null ? matcher.group() : property));
+            }
+            matcher.appendTail(replaced);
+            if (replaced.toString().equals(result)) {
+                break;
+            }
+            result = replaced.toString();
+        }
+        return result.contains("${") ? null : result;
+    }
+
+
+    private static Artifact toPom(final String groupId, final String artifactId, final String version) {
+        return new DefaultArtifact(groupId, artifactId, "", POM, version);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.glassfish.build.zip.RawZipEntry;
+
+/**
+ * Reorders entries of the staged jars by the order in which their classes are loaded.
+ * <p>
+ * The profile is a text file with one class name per line, in the order the classes were
+ * loaded by a training run. Lines of the {@code -Xlog:class+load} output are accepted too, empty lines
+ * and lines starting with {@code #} are ignored. Every jar containing a profiled class is rewritten
+ * so that its {@code META-INF} files come first, followed by the profiled classes in the load order
+ * and then by the other entries in their original order. So classes are read sequentially at startup.
+ * <p>
+ * Entries are copied raw, their content does not change. Signatures stay valid too, because
+ * the signature files are kept at the start of the jar, still signed jars can be skipped.
+ */
+@Mojo(name = "reorder-jars", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class ReorderJarsMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "reorderJars.";
+    private static final String META_INF = "META-INF/";
+    private static final List<String> MANIFEST_ENTRIES = List.of(META_INF, JarFile.MANIFEST_NAME);
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String CLASS_LOAD_TAG = "[class,load]";
+    private static final String SOURCE_SUFFIX = " source:";
+
+    /**
+     * The directory with the jars to reorder.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The class load order profile.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "profile", required = true)
+    private File profile;
+
+    /**
+     * Comma separated list of file extensions of archives to reorder.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar")
+    private List<String> archiveTypes;
+
+    /**
+     * If {@code true}, signed jars are not reordered.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skipSignedJars", defaultValue = "false")
+    private boolean skipSignedJars;
+
+    /**
+     * Number of threads rewriting the jars. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final Map<String, Integer> loadOrder = readProfile();
+        final List<Path> jars = StageFiles.listArchives(stageDirectory, archiveTypes);
+        final List<Integer> results = Parallel.map(jars, threads,
+            jar -> JarRewriter.rewrite(jar, skipSignedJars, entries -> reorder(entries, loadOrder)));
+        final long reordered = results.stream().filter(result -> result >= 0).count();
+        getLog().info("Reordered " + reordered + " of " + jars.size() + " jars by " + loadOrder.size()
+            + " profiled classes");
+    }
+
+
+    private Map<String, Integer> readProfile() throws MojoExecutionException {
+        final Map<String, Integer> loadOrder = new HashMap<>();
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(profile.toPath(), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to read the profile " + profile, e);
+        }
+        for (final String line : lines) {
+            String name = line.strip();
+            final int tag = name.indexOf(CLASS_LOAD_TAG);
+            if (tag >= 0) {
+                name = name.substring(tag + CLASS_LOAD_TAG.length()).strip();
+                final int source = name.indexOf(SOURCE_SUFFIX);
+                name = source < 0 ? name : name.substring(0, source);
+            }
+            if (name.isEmpty() || name.startsWith("#")) {
+                continue;
+            }
+            loadOrder.putIfAbsent(name.replace('.', '/') + CLASS_SUFFIX, loadOrder.size());
+        }
+        return loadOrder;
+    }
+
+
+    private static List<RawZipEntry> reorder(final List<RawZipEntry> entries, final Map<String, Integer> loadOrder) {
+        final List<RawZipEntry> metaInf = new ArrayList<>();
+        final List<RawZipEntry> profiled = new ArrayList<>();
+        final List<RawZipEntry> others = new ArrayList<>();
+        for (final RawZipEntry entry : entries) {
+            final String name = entry.getName();
+            if (name.startsWith(META_INF) && name.indexOf('/', META_INF.length()) < 0) {
+                metaInf.add(entry);
+            } else if (loadOrder.containsKey(name)) {
+                profiled.add(entry);
+            } else {
+                others.add(entry);
+            }
+        }
+        if (profiled.isEmpty()) {
+            return entries;
+        }
+        // JarInputStream expects the manifest first
+        metaInf.sort(Comparator.comparingInt(entry -> MANIFEST_ENTRIES.indexOf(entry.getName()) & Integer.MAX_VALUE));
+        profiled.sort(Comparator.comparing(entry -> loadOrder.get(entry.getName())));
+        final List<RawZipEntry> ordered = new ArrayList<>(entries.size());
+        ordered.addAll(metaInf);
+        ordered.addAll(profiled);
+        ordered.addAll(others);
+        return ordered;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * Caches of artifact descriptors and resolved artifact files kept for the lifetime of the plugin class loader.
+ * <p>
+ * A long-lived JVM such as the Maven daemon keeps the plugin class loader between builds, so warm builds
+ * skip most of the resolver work. A descriptor is reused as long as its POM file, the POM files of its
+ * parents and of the imported BOMs, see {@link PomChain}, have the same last modification time and size,
+ * a resolved artifact as long as its file does. Snapshots are not cached, except for descriptors of reactor
+ * projects which are validated by the same POM files.
+ * Both caches are bounded and evict the least recently used entries; they are safe for concurrent use
+ * by parallel module builds.
+ */
+final class ResolverCache {
+
+    private static final int MAX_ENTRIES = 4096;
+
+    private static final Map<String, Stamped<ArtifactDescriptorResult>> DESCRIPTORS = lru();
+
+    private static final Map<String, Stamped<File>> ARTIFACTS = lru();
+
+    private ResolverCache() {
+        // hidden
+    }
+
+
+    /**
+     * Reads the artifact descriptor, using the cached result if none of its POM files changed.
+     *
+     * @param system the repository system
+     * @param session the repository session
+     * @param request the descriptor request
+     * @return the descriptor result, shared with other callers and must not be modified
+     * @throws ArtifactDescriptorException if the descriptor cannot be read
+     */
+    static ArtifactDescriptorResult readArtifactDescriptor(final RepositorySystem system,
+        final RepositorySystemSession session, final ArtifactDescriptorRequest request)
+        throws ArtifactDescriptorException {
+
+        final File pom = getValidatingPomFile(session, request.getArtifact());
+        if (pom == null) {
+            return system.readArtifactDescriptor(session, request);
+        }
+        final String key = getKey(session, request.getArtifact(), request.getRepositories());
+        final Stamped<ArtifactDescriptorResult> cached = DESCRIPTORS.get(key);
+        if (cached != null && cached.isValid()) {
+            return cached.value;
+        }
+        // the POMs may have been downloaded by the request, stamp them afterwards
+        final ArtifactDescriptorResult result = system.readArtifactDescriptor(session, request);
+        if (pom.isFile()) {
+            DESCRIPTORS.put(key, new Stamped<>(result, PomChain.collect(session, request.getArtifact())));
+        }
+        return result;
+    }
+
+
+    /**
+     * Resolves the artifacts, using the cached files which did not change.
+     *
+     * @param system the repository system
+     * @param session the repository session
+     * @param requests the artifact requests
+     * @return the results, not in the order of the requests
+     * @throws ArtifactResolutionException if any artifact cannot be resolved
+     */
+    static List<ArtifactResult> resolveArtifacts(final RepositorySystem system,
+        final RepositorySystemSession session, final Collection<ArtifactRequest> requests)
+        throws ArtifactResolutionException {
+
+        final List<ArtifactResult> results = new ArrayList<>(requests.size());
+        final List<ArtifactRequest> missing = new ArrayList<>();
+        for (final ArtifactRequest request : requests) {
+            final Artifact artifact = request.getArtifact();
+            final Stamped<File> cached = artifact.isSnapshot()
+                ? null : ARTIFACTS.get(getKey(session, artifact, request.getRepositories()));
+            if (cached != null && cached.isValid()) {
+                results.add(new ArtifactResult(request).setArtifact(artifact.setFile(cached.value)));
+            } else {
+                missing.add(request);
+            }
+        }
+        if (missing.isEmpty()) {
+            return results;
+        }
+        for (final ArtifactResult result : system.resolveArtifacts(session, missing)) {
+            final Artifact artifact = result.getArtifact();
+            if (result.isResolved() && !artifact.isSnapshot() && artifact.getFile() != null) {
+                ARTIFACTS.put(getKey(session, result.getRequest().getArtifact(), result.getRequest().getRepositories()),
+                    new Stamped<>(artifact.getFile(), List.of(artifact.getFile())));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+
+    /**
+     * Get the POM file of the artifact, the POM of the reactor project or the POM in the local repository.
+     *
+     * @param session the repository session
+     * @param artifact the artifact
+     * @return the POM file, which may not exist yet
+     */
+    static File getPomFile(final RepositorySystemSession session, final Artifact artifact) {
+        final Artifact pom = toPom(artifact);
+        final File file = findInWorkspace(session, pom);
+        if (file != null) {
+            return file;
+        }
+        return new File(session.getLocalRepository().getBasedir(),
+            session.getLocalRepositoryManager().getPathForLocalArtifact(pom));
+    }
+
+
+    /**
+     * Get the POM file validating the descriptor of the artifact.
+     *
+     * @param session the repository session
+     * @param artifact the artifact
+     * @return the POM file, which may not exist yet, or {@code null} if the descriptor must not be cached
+     */
+    private static File getValidatingPomFile(final RepositorySystemSession session, final Artifact artifact) {
+        if (artifact.isSnapshot() && findInWorkspace(session, toPom(artifact)) == null) {
+            return null;
+        }
+        return getPomFile(session, artifact);
+    }
+
+
+    private static Artifact toPom(final Artifact artifact) {
+        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), "", "pom", artifact.getVersion());
+    }
+
+
+    private static File findInWorkspace(final RepositorySystemSession session, final Artifact pom) {
+        final WorkspaceReader workspace = session.getWorkspaceReader();
+        return workspace == null ? null : workspace.findArtifact(pom);
+    }
+
+
+    private static String getKey(final RepositorySystemSession session, final Artifact artifact,
+        final List<RemoteRepository> repositories) {
+
+        final StringBuilder key = new StringBuilder();
+        key.append(session.getLocalRepository().getBasedir()).append('|').append(artifact);
+        for (final RemoteRepository repository : repositories) {
+            key.append('|').append(repository.getUrl());
+        }
+        return key.toString();
+    }
+
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static <T> Map<String, Stamped<T>> lru() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Stamped<T>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        });
+    }
+
+
+    /**
+     * Cached value stamped with the last modification time and size of the files validating it.
+     * A missing file is stamped too, the value stays valid as long as the file does not appear.
+     *
+     * @param <T> type of the value
+     */
+    private static final class Stamped<T> {
+
+        private final T value;
+        private final List<File> files;
+        private final long[] lastModified;
+        private final long[] length;
+
+        Stamped(final T value, final List<File> files) {
+            this.value = value;
+            this.files = files;
+            this.lastModified = new long[files.size()];
+            this.length = new long[files.size()];
+            for (int i = 0; i < files.size(); i++) {
+                lastModified[i] = files.get(i).lastModified();
+                length[i] = files.get(i).length();
+            }
+        }
+
+        boolean isValid() {
+            for (int i = 0; i < files.size(); i++) {
+                final File file = files.get(i);
+                if (file.lastModified() != lastModified[i] || file.length() != length[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
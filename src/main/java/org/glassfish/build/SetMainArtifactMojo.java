@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,12 @@
 
 package org.glassfish.build;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -31,10 +36,25 @@ import org.apache.maven.project.MavenProject;
  * Useful in combination with the assembly-maven-plugin in a situation when it generates
  * the one and only module's artifact without a classifier via a custom lifecycle,
  * which results in complains of the maven install plugin about unset main artifact.
+ * <p>
+ * The file is hashed here with all configured algorithms in a single pass. The digests are written
+ * to sidecar files next to the artifact and set as project properties
+ * {@code gfbuild.setMainArtifact.checksum.<extension>}, ie. {@code gfbuild.setMainArtifact.checksum.sha256},
+ * so later goals and the deploy tooling can use them without reading the file again.
  */
 @Mojo(name = "set-main-artifact", threadSafe = true)
 public final class SetMainArtifactMojo extends AbstractMojo {
 
+    /**
+     * Parameters property prefix.
+     */
+    static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "setMainArtifact.";
+
+    /**
+     * Prefix of project properties with the computed checksums.
+     */
+    static final String CHECKSUM_PROPERTY_PREFIX = PROPERTY_PREFIX + "checksum.";
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     private MavenProject project;
     /**
@@ -49,9 +69,66 @@ public final class SetMainArtifactMojo extends AbstractMojo {
     @Parameter(property = "type", required = true)
     private String type;
 
+    /**
+     * {@link java.security.MessageDigest} algorithms to compute. Empty list disables checksums.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "checksumAlgorithms", defaultValue = "SHA-1,SHA-256,SHA-512")
+    private List<String> checksumAlgorithms;
+
+    /**
+     * If {@code true}, the checksums are written to files next to the artifact,
+     * named by the artifact file name and the algorithm, ie. {@code glassfish.zip.sha256}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "writeChecksumFiles", defaultValue = "true")
+    private boolean writeChecksumFiles;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!file.isFile()) {
+            throw new MojoExecutionException(this, "The main artifact file " + file.getAbsolutePath()
+                + " does not exist.", "The file must be created before this goal is executed, usually in the same phase"
+                + " by the maven-assembly-plugin.");
+        }
+        final BuildEvents.SetMainArtifact event = new BuildEvents.SetMainArtifact();
+        event.begin();
         project.getArtifact().setFile(file);
         getLog().info("Project main artifact file set to " + file.getAbsolutePath());
+        if (checksumAlgorithms != null && !checksumAlgorithms.isEmpty()) {
+            computeChecksums();
+        }
+        if (event.shouldCommit()) {
+            event.artifact = project.getArtifact().toString();
+            event.destination = file.getPath();
+            event.bytes = file.length();
+            event.commit();
+        }
+    }
+
+
+    private void computeChecksums() throws MojoExecutionException {
+        final Map<String, String> checksums;
+        try {
+            checksums = Checksums.digest(file.toPath(), checksumAlgorithms);
+        } catch (final IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to compute checksums of " + file.getAbsolutePath(), e);
+        }
+        for (final Map.Entry<String, String> checksum : checksums.entrySet()) {
+            final String extension = Checksums.toExtension(checksum.getKey());
+            project.getProperties().setProperty(CHECKSUM_PROPERTY_PREFIX + extension, checksum.getValue());
+            getLog().debug(checksum.getKey() + ": " + checksum.getValue());
+            if (!writeChecksumFiles) {
+                continue;
+            }
+            final File checksumFile = new File(file.getPath() + "." + extension);
+            try {
+                StagingLocks.writeAtomically(
+                    new ByteArrayInputStream(checksum.getValue().getBytes(StandardCharsets.US_ASCII)),
+                    checksumFile.toPath());
+            } catch (final IOException e) {
+                throw new MojoExecutionException("Failed to write " + checksumFile.getAbsolutePath(), e);
+            }
+        }
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Utilities to list files of the stage directory.
+ */
+final class StageFiles {
+
+    private StageFiles() {
+        // hidden
+    }
+
+
+    /**
+     * Lists all regular files in the directory and its subdirectories.
+     *
+     * @param directory the stage directory
+     * @return files sorted by path, empty if the directory does not exist
+     * @throws MojoExecutionException if the directory cannot be read
+     */
+    static List<Path> listFiles(final File directory) throws MojoExecutionException {
+        if (!directory.isDirectory()) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to list " + directory, e);
+        }
+    }
+
+
+    /**
+     * Lists archives in the directory and its subdirectories.
+     *
+     * @param directory the stage directory
+     * @param extensions file extensions of the archives, ie. {@code jar}
+     * @return files sorted by path, empty if the directory does not exist
+     * @throws MojoExecutionException if the directory cannot be read
+     */
+    static List<Path> listArchives(final File directory, final List<String> extensions)
+        throws MojoExecutionException {
+        return listFiles(directory).stream().filter(path -> hasExtension(path, extensions))
+            .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Checks the file name extension.
+     *
+     * @param path the file
+     * @param extensions accepted extensions without the period
+     * @return {@code true} if the file name ends with any of the extensions, ignoring case
+     */
+    static boolean hasExtension(final Path path, final List<String> extensions) {
+        final String name = path.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        return dot >= 0 && extensions.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+
+    /**
+     * Path of the file relative to the directory with slashes as separators.
+     *
+     * @param directory the base directory
+     * @param file the file in the directory
+     * @return the relative path, same on all platforms
+     */
+    static String relativize(final Path directory, final Path file) {
+        return directory.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+
+    /**
+     * Links the file to the target path, replacing an existing target.
+     * The file is copied if the file system does not support hard links, ie. across devices.
+     *
+     * @param file the existing file
+     * @param target the link to create
+     * @return {@code true} if the link was created, {@code false} if the file was copied
+     * @throws IOException if the target cannot be written
+     */
+    static boolean link(final Path file, final Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, file);
+            return true;
+        } catch (final UnsupportedOperationException | FileSystemException e) {
+            Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+            return false;
+        }
+    }
+
+
+    /**
+     * Deletes the directory with all its content.
+     *
+     * @param directory the directory to delete, may not exist
+     * @throws IOException if a file cannot be deleted
+     */
+    static void deleteTree(final Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        final List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (final Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Configuration of a distribution variant staged by the {@code featuresets-dependencies} goal.
+ * <p>
+ * A variant is a subset of the featuresets of the execution. The stage directory of the execution holds
+ * the dependencies of all featuresets, the stage directory of the variant receives links to the files
+ * staged for the dependencies of its featuresets and for the direct dependencies of the project.
+ */
+public final class StageVariant {
+
+    /**
+     * The name of the variant, used in messages.
+     */
+    private String name;
+
+    /**
+     * The featuresets of the variant, each as {@code artifactId} or {@code groupId:artifactId}.
+     */
+    private List<String> featureSets = Collections.emptyList();
+
+    /**
+     * The stage directory of the variant. Files not belonging to the variant are deleted from it,
+     * so it must be outside of the main stage directory and must not contain the build directory.
+     */
+    private File stageDirectory;
+
+    /**
+     * The staging manifest of the variant, by default {@code <stageDirectory>.manifest}.
+     */
+    private File stagingManifest;
+
+    /**
+     * Get the name of the variant.
+     *
+     * @return the name, the name of the stage directory if not set
+     */
+    public String getName() {
+        return name == null || name.isEmpty() ? stageDirectory.getName() : name;
+    }
+
+
+    /**
+     * Set the name of the variant.
+     *
+     * @param variantName the name
+     */
+    public void setName(final String variantName) {
+        this.name = variantName;
+    }
+
+
+    /**
+     * Get the featuresets of the variant.
+     *
+     * @return list of {@code artifactId} or {@code groupId:artifactId}
+     */
+    public List<String> getFeatureSets() {
+        return featureSets;
+    }
+
+
+    /**
+     * Set the featuresets of the variant.
+     *
+     * @param variantFeatureSets list of {@code artifactId} or {@code groupId:artifactId}
+     */
+    public void setFeatureSets(final List<String> variantFeatureSets) {
+        this.featureSets = variantFeatureSets;
+    }
+
+
+    /**
+     * Get the stage directory of the variant.
+     *
+     * @return the stage directory
+     */
+    public File getStageDirectory() {
+        return stageDirectory;
+    }
+
+
+    /**
+     * Set the stage directory of the variant.
+     *
+     * @param variantStageDirectory the stage directory
+     */
+    public void setStageDirectory(final File variantStageDirectory) {
+        this.stageDirectory = variantStageDirectory;
+    }
+
+
+    /**
+     * Get the staging manifest of the variant.
+     *
+     * @return the manifest file, {@code <stageDirectory>.manifest} if not set
+     */
+    public File getStagingManifest() {
+        if (stagingManifest == null) {
+            return new File(stageDirectory.getParentFile(), stageDirectory.getName() + ".manifest");
+        }
+        return stagingManifest;
+    }
+
+
+    /**
+     * Set the staging manifest of the variant.
+     *
+     * @param variantStagingManifest the manifest file
+     */
+    public void setStagingManifest(final File variantStagingManifest) {
+        this.stagingManifest = variantStagingManifest;
+    }
+
+
+    /**
+     * Checks if the featureset belongs to this variant.
+     *
+     * @param featureSet the featureset artifact
+     * @return {@code true} if any of the configured featuresets matches the artifact
+     */
+    boolean includes(final Artifact featureSet) {
+        for (final String id : featureSets) {
+            final String value = id.strip();
+            if (value.equals(featureSet.getArtifactId())
+                || value.equals(featureSet.getGroupId() + ":" + featureSet.getArtifactId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+
+/**
+ * Checks integrity of the stage directory.
+ * <p>
+ * Every archive is opened and all its entries are decompressed and compared with the CRC-32 and
+ * the size from the central directory. Files listed in the {@link StagingManifest} are compared with
+ * their expected sizes. Archives are checked in parallel and all problems are collected.
+ */
+final class StageVerifier {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<String> archiveTypes;
+    private final int threads;
+
+    /**
+     * Creates the verifier.
+     *
+     * @param archiveExtensions extensions of files verified as zip archives
+     * @param threadCount number of threads, zero or less means the number of processors
+     */
+    StageVerifier(final List<String> archiveExtensions, final int threadCount) {
+        this.archiveTypes = archiveExtensions;
+        this.threads = threadCount;
+    }
+
+
+    /**
+     * Verifies the stage directory.
+     *
+     * @param stageDirectory the stage directory
+     * @param manifest the staged files, may be empty
+     * @return all found problems, empty if the stage is fine
+     * @throws MojoExecutionException if the stage directory cannot be listed
+     */
+    List<String> verify(final File stageDirectory, final StagingManifest manifest) throws MojoExecutionException {
+        final List<String> problems = new ArrayList<>();
+        final Path root = stageDirectory.toPath();
+        for (final StagingManifest.Entry entry : manifest.getEntries()) {
+            final Path file = root.resolve(entry.getPath());
+            if (!Files.isRegularFile(file)) {
+                problems.add(entry.getPath() + ": missing, staged from " + entry.getSource());
+                continue;
+            }
+            final long size = file.toFile().length();
+            if (entry.getSize() >= 0 && size != entry.getSize()) {
+                problems.add(entry.getPath() + ": size " + size + " B, expected " + entry.getSize() + " B from "
+                    + entry.getSource());
+            }
+        }
+        final List<Path> archives = StageFiles.listArchives(stageDirectory, archiveTypes);
+        for (final List<String> archiveProblems : Parallel.map(archives, threads, this::verifyArchive)) {
+            problems.addAll(archiveProblems);
+        }
+        return problems;
+    }
+
+
+    /**
+     * Logs the problems and fails if there are any.
+     *
+     * @param log the log
+     * @param stageDirectory the verified directory
+     * @param problems problems found by {@link #verify(File, StagingManifest)}
+     * @throws MojoFailureException if there is any problem
+     */
+    static void report(final Log log, final File stageDirectory, final List<String> problems)
+        throws MojoFailureException {
+        if (problems.isEmpty()) {
+            log.info("Verified " + stageDirectory);
+            return;
+        }
+        for (final String problem : problems) {
+            log.error(problem);
+        }
+        throw new MojoFailureException("Found " + problems.size() + " integrity problems in " + stageDirectory);
+    }
+
+
+    private List<String> verifyArchive(final Path archive) {
+        final List<String> problems = new ArrayList<>();
+        try (ZipReader zip = new ZipReader(archive)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            for (final RawZipEntry entry : zip.getEntries()) {
+                final CRC32 crc = new CRC32();
+                long size = 0;
+                try (InputStream input = zip.openContent(entry)) {
+                    for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                        crc.update(buffer, 0, read);
+                        size += read;
+                    }
+                } catch (final IOException e) {
+                    problems.add(archive + "!/" + entry.getName() + ": " + e.getMessage());
+                    continue;
+                }
+                if (size != entry.getSize()) {
+                    problems.add(archive + "!/" + entry.getName() + ": size " + size + " B, expected "
+                        + entry.getSize() + " B");
+                } else if (crc.getValue() != entry.getCrc()) {
+                    problems.add(archive + "!/" + entry.getName() + ": CRC mismatch");
+                }
+            }
+        } catch (final IOException e) {
+            problems.add(archive + ": " + e.getMessage());
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locking and atomic writes for executions sharing a stage directory.
+ * <p>
+ * Destinations are mapped to a fixed number of stripes by their absolute path. A stripe is guarded
+ * by a lock shared by all threads of the JVM and by a lock file shared by all processes, so parallel
+ * module builds and separate Maven processes never write the same destination at the same time.
+ * The lock files are kept next to the stage directory, see {@link #getLockDirectory(Path)}, so only
+ * the builds sharing the stage share them.
+ * Files are written to a temporary file in the target directory first and then renamed, so readers
+ * never see half-written files.
+ */
+final class StagingLocks {
+
+    private static final int STRIPES = 64;
+
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private StagingLocks() {
+        // hidden
+    }
+
+
+    /**
+     * Action executed under the lock.
+     */
+    @FunctionalInterface
+    interface Action {
+
+        /**
+         * Executes the action.
+         *
+         * @throws IOException if the action fails
+         */
+        void run() throws IOException;
+    }
+
+
+    /**
+     * Directory of the lock files of the stage directory, {@code .<stage name>.locks} in its parent directory.
+     *
+     * @param stageDirectory the stage directory
+     * @return the lock directory, may not exist yet
+     */
+    static Path getLockDirectory(final Path stageDirectory) {
+        final Path stage = stageDirectory.toAbsolutePath().normalize();
+        return stage.resolveSibling("." + stage.getFileName() + ".locks");
+    }
+
+
+    /**
+     * Executes the action while holding the lock of the destination.
+     *
+     * @param lockDirectory directory of the lock files, see {@link #getLockDirectory(Path)}
+     * @param destination the file or directory being written
+     * @param action the action writing the destination
+     * @throws IOException if the lock cannot be acquired or the action fails
+     */
+    static void withLock(final Path lockDirectory, final Path destination, final Action action)
+        throws IOException {
+        // String.hashCode is specified, so all processes compute the same stripe
+        final int stripe = Math.floorMod(destination.toAbsolutePath().normalize().toString().hashCode(), STRIPES);
+        final ReentrantLock lock = LOCKS[stripe];
+        lock.lock();
+        try {
+            Files.createDirectories(lockDirectory);
+            final Path lockFile = lockDirectory.resolve("stripe-" + stripe + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+                final FileLock fileLock = channel.lock();
+                try {
+                    action.run();
+                } finally {
+                    fileLock.release();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Content written to a temporary file.
+     */
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * Writes the content.
+         *
+         * @param file the temporary file, already exists
+         * @throws IOException if the write fails
+         */
+        void writeTo(Path file) throws IOException;
+    }
+
+
+    /**
+     * Copies the file to the target atomically, replacing an existing file.
+     *
+     * @param source the file to copy
+     * @param target the target file, its directory must exist
+     * @throws IOException if the copy fails
+     */
+    static void copyAtomically(final Path source, final Path target) throws IOException {
+        writeAtomically(target, temp -> Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING));
+    }
+
+
+    /**
+     * Writes the content to the target atomically, replacing an existing file.
+     *
+     * @param content the content to write
+     * @param target the target file, its directory must exist
+     * @throws IOException if the write fails
+     */
+    static void writeAtomically(final InputStream content, final Path target) throws IOException {
+        writeAtomically(target, temp -> Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING));
+    }
+
+
+    /**
+     * Writes the content to a temporary file and moves it to the target atomically, replacing an existing file.
+     *
+     * @param target the target file, its directory must exist
+     * @param content writes the temporary file
+     * @throws IOException if the write fails
+     */
+    static void writeAtomically(final Path target, final Content content) throws IOException {
+        final Path temp = createTempFile(target);
+        try {
+            content.writeTo(temp);
+            moveAtomically(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    private static Path createTempFile(final Path target) throws IOException {
+        return Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+    }
+
+
+    /**
+     * Moves the file to the target atomically if the file system supports it, replacing an existing file.
+     *
+     * @param source the file to move
+     * @param target the target file, its directory must exist
+     * @throws IOException if the move fails
+     */
+    static void moveAtomically(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
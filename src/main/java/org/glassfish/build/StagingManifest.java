@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * List of files written to the stage directory and where they came from.
+ * <p>
+ * Written by the {@code featuresets-dependencies} goal, so other goals can check and reuse
+ * the staged files without knowing the dependencies. The file has one tab separated line per
+ * staged file: the path relative to the stage directory, the expected size or -1 if unknown,
+ * the {@code groupId:artifactId} of the staged dependency and the source.
+ */
+final class StagingManifest {
+
+    private static final String SEPARATOR = "\t";
+
+    private static final int FIELDS = 4;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Adds the staged file.
+     *
+     * @param path path relative to the stage directory, separated by slashes
+     * @param size expected size, -1 if unknown, ie. when the content was transformed
+     * @param artifact {@code groupId:artifactId} of the staged dependency
+     * @param source the source file or archive entry
+     */
+    void add(final String path, final long size, final String artifact, final String source) {
+        entries.add(new Entry(path, size, artifact, source));
+    }
+
+
+    /**
+     * Sets the expected size of the staged file, ie. after a goal changed the file.
+     *
+     * @param path path relative to the stage directory, separated by slashes
+     * @param size the new expected size
+     * @return {@code true} if the file is listed in the manifest
+     */
+    boolean setSize(final String path, final long size) {
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            if (entry.path.equals(path)) {
+                entries.set(i, new Entry(path, size, entry.artifact, entry.source));
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Get the staged files.
+     *
+     * @return unmodifiable list of staged files in the order they were added
+     */
+    List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+
+    /**
+     * Reads the manifest.
+     *
+     * @param file the manifest file
+     * @return the manifest, empty if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    static StagingManifest read(final File file) throws IOException {
+        final StagingManifest manifest = new StagingManifest();
+        if (!file.isFile()) {
+            return manifest;
+        }
+        for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            final String[] fields = line.split(SEPARATOR, FIELDS);
+            if (fields.length != FIELDS) {
+                throw new IOException("Invalid line of " + file + ": " + line);
+            }
+            manifest.add(fields[0], Long.parseLong(fields[1]), fields[2], fields[3]);
+        }
+        return manifest;
+    }
+
+
+    /**
+     * Writes the manifest atomically.
+     *
+     * @param file the manifest file
+     * @throws IOException if the file cannot be written
+     */
+    void write(final File file) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (final Entry entry : entries) {
+            content.append(entry.path).append(SEPARATOR).append(entry.size).append(SEPARATOR).append(entry.artifact)
+                .append(SEPARATOR).append(entry.source).append('\n');
+        }
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        StagingLocks.writeAtomically(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)),
+            file.toPath());
+    }
+
+
+    /**
+     * A staged file.
+     */
+    static final class Entry {
+
+        private final String path;
+        private final long size;
+        private final String artifact;
+        private final String source;
+
+        Entry(final String stagedPath, final long expectedSize, final String stagedArtifact,
+            final String stagedSource) {
+            this.path = stagedPath;
+            this.size = expectedSize;
+            this.artifact = stagedArtifact;
+            this.source = stagedSource;
+        }
+
+
+        /**
+         * Get the path relative to the stage directory.
+         *
+         * @return the path separated by slashes
+         */
+        String getPath() {
+            return path;
+        }
+
+
+        /**
+         * Get the expected size.
+         *
+         * @return the size, -1 if unknown
+         */
+        long getSize() {
+            return size;
+        }
+
+
+        /**
+         * Get the staged dependency.
+         *
+         * @return {@code groupId:artifactId}
+         */
+        String getArtifact() {
+            return artifact;
+        }
+
+
+        /**
+         * Get the source.
+         *
+         * @return the source file or archive entry
+         */
+        String getSource() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes tar archives which depend only on the written paths, modes and content.
+ * <p>
+ * All entries have the same modification time, owner and group 0 and no user or group names. Paths longer
+ * than the ustar format allows and files larger than 8 GiB are written with pax extended headers.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+final class TarWriter implements Closeable {
+
+    private static final int BLOCK = 512;
+
+    private static final int NAME_LENGTH = 100;
+
+    private static final int PREFIX_LENGTH = 155;
+
+    private static final long MAX_SIZE = 077777777777L;
+
+    private static final byte[] MAGIC = {'u', 's', 't', 'a', 'r', 0, '0', '0'};
+
+    private static final int FILE_MODE = 0644;
+
+    private static final int EXECUTABLE_MODE = 0755;
+
+    private final OutputStream out;
+
+    private final long modified;
+
+    private final byte[] buffer = new byte[64 * 1024];
+
+    /**
+     * Creates the writer.
+     *
+     * @param output the stream receiving the archive
+     * @param modifiedSeconds modification time of all entries in seconds since the epoch
+     */
+    TarWriter(final OutputStream output, final long modifiedSeconds) {
+        this.out = output;
+        this.modified = modifiedSeconds;
+    }
+
+
+    /**
+     * Writes a directory entry.
+     *
+     * @param path the path of the directory, separated by slashes
+     * @throws IOException if the entry cannot be written
+     */
+    void addDirectory(final String path) throws IOException {
+        writeHeader(path.endsWith("/") ? path : path + "/", EXECUTABLE_MODE, 0, '5');
+    }
+
+
+    /**
+     * Writes a file entry.
+     *
+     * @param path the path of the file, separated by slashes
+     * @param file the file to write
+     * @param executable if the file is executable
+     * @throws IOException if the file cannot be read or the entry cannot be written
+     */
+    void addFile(final String path, final Path file, final boolean executable) throws IOException {
+        final long size = Files.size(file);
+        writeHeader(path, executable ? EXECUTABLE_MODE : FILE_MODE, size, '0');
+        long written = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while (written < size && (read = in.read(buffer, 0, (int) Math.min(buffer.length, size - written))) > 0) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        if (written != size) {
+            throw new IOException("The file " + file + " changed while it was archived");
+        }
+        pad(size);
+    }
+
+
+    /**
+     * Writes the end of the archive and closes the stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        out.write(new byte[2 * BLOCK]);
+        out.close();
+    }
+
+
+    private void writeHeader(final String path, final int mode, final long size, final char type)
+        throws IOException {
+        final byte[] name = path.getBytes(StandardCharsets.UTF_8);
+        final int split = split(name);
+        final Map<String, String> pax = new LinkedHashMap<>();
+        if (split < 0) {
+            pax.put("path", path);
+        }
+        if (size > MAX_SIZE) {
+            pax.put("size", Long.toString(size));
+        }
+        if (!pax.isEmpty()) {
+            final byte[] records = toPaxRecords(pax);
+            writeBlock(Arrays.copyOf("PaxHeader".getBytes(StandardCharsets.US_ASCII), NAME_LENGTH), new byte[0],
+                FILE_MODE, records.length, 'x');
+            out.write(records);
+            pad(records.length);
+        }
+        if (split < 0) {
+            // the pax path is used, the truncated name is just a fallback for old readers
+            writeBlock(Arrays.copyOf(name, NAME_LENGTH), new byte[0], mode, Math.min(size, MAX_SIZE), type);
+        } else {
+            writeBlock(Arrays.copyOfRange(name, split == 0 ? 0 : split + 1, name.length),
+                Arrays.copyOf(name, split), mode, Math.min(size, MAX_SIZE), type);
+        }
+    }
+
+
+    /**
+     * Finds where to split the name between the prefix and name fields of the ustar header.
+     *
+     * @return 0 if the name fits the name field, index of the separating slash, or -1 if the name does not fit
+     */
+    private static int split(final byte[] name) {
+        if (name.length <= NAME_LENGTH) {
+            return 0;
+        }
+        for (int i = Math.min(PREFIX_LENGTH, name.length - 1); i > 0; i--) {
+            if (name[i] == '/') {
+                final int nameLength = name.length - i - 1;
+                return nameLength > 0 && nameLength <= NAME_LENGTH ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+
+    private void writeBlock(final byte[] name, final byte[] prefix, final int mode, final long size,
+        final char type) throws IOException {
+        final byte[] header = new byte[BLOCK];
+        System.arraycopy(name, 0, header, 0, Math.min(name.length, NAME_LENGTH));
+        putOctal(header, 100, 8, mode);
+        putOctal(header, 108, 8, 0);
+        putOctal(header, 116, 8, 0);
+        putOctal(header, 124, 12, size);
+        putOctal(header, 136, 12, modified);
+        header[156] = (byte) type;
+        System.arraycopy(MAGIC, 0, header, 257, MAGIC.length);
+        System.arraycopy(prefix, 0, header, 345, Math.min(prefix.length, PREFIX_LENGTH));
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        int checksum = 0;
+        for (final byte b : header) {
+            checksum += b & 0xFF;
+        }
+        putOctal(header, 148, 7, checksum);
+        out.write(header);
+    }
+
+
+    private static void putOctal(final byte[] header, final int offset, final int length, final long value) {
+        final String octal = Long.toOctalString(value);
+        final int start = offset + length - 1 - octal.length();
+        Arrays.fill(header, offset, start, (byte) '0');
+        System.arraycopy(octal.getBytes(StandardCharsets.US_ASCII), 0, header, start, octal.length());
+        header[offset + length - 1] = 0;
+    }
+
+
+    private static byte[] toPaxRecords(final Map<String, String> values) {
+        final StringBuilder records = new StringBuilder();
+        for (final Map.Entry<String, String> value : values.entrySet()) {
+            // the length of the record includes the length field itself
+            final int length = value.getKey().getBytes(StandardCharsets.UTF_8).length
+                + value.getValue().getBytes(StandardCharsets.UTF_8).length + 3;
+            int total = length + Integer.toString(length).length();
+            if (Integer.toString(total).length() > Integer.toString(length).length()) {
+                total++;
+            }
+            records.append(total).append(' ').append(value.getKey()).append('=').append(value.getValue())
+                .append('\n');
+        }
+        return records.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private void pad(final long size) throws IOException {
+        final int remainder = (int) (size % BLOCK);
+        if (remainder != 0) {
+            out.write(new byte[BLOCK - remainder]);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
+ * Copyright (c) 2023, 2026 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -58,8 +58,15 @@ public final class UnpackAssemblyDescriptorMojo extends AbstractMojo {
         outputDirectory.mkdirs();
         final File target = new File(outputDirectory, descriptorResource);
         getLog().debug("Unpacking " + descriptorResource + " to " + target.getAbsolutePath());
+        final BuildEvents.DescriptorUnpack event = new BuildEvents.DescriptorUnpack();
+        event.begin();
         try {
             Files.copy(source, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            if (event.shouldCommit()) {
+                event.artifact = descriptorResource;
+                event.destination = target.getPath();
+                event.commit();
+            }
         } catch (final IOException e) {
             throw new MojoExecutionException("Failed to copy into " + target.getAbsolutePath(), e);
         }
@@ -0,0 +1,567 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.glassfish.build.zip.DosTime;
+import org.glassfish.build.zip.RawZipEntry;
+import org.glassfish.build.zip.ZipReader;
+import org.glassfish.build.zip.ZipWriter;
+
+/**
+ * Updates the distribution zip in place to match the stage directory.
+ * <p>
+ * The central directory of the existing archive is compared with the stage. An entry is unchanged
+ * if the staged file has the same size, CRC-32 and permissions, and also the same time if
+ * the {@code outputTimestamp} is set. The CRC-32 of a staged file is computed only if its size or
+ * last modified time differ from the previous update, which are kept in the {@code <outputFile>.state}
+ * file next to the archive. Unchanged entries stay where they are, changed and new entries are compressed
+ * in parallel and written over the old central directory, followed by the new central directory. The data
+ * of changed and removed entries are left in the archive as unused gaps. Only changed files are compressed
+ * and written, so the cost is given by the size of the change, not by the size of the archive.
+ * <p>
+ * Before the old central directory is overwritten, it is saved with its offset to the
+ * {@code <outputFile>.journal} file. If an update is interrupted, the next execution restores the previous
+ * archive from the journal, so an interrupted update never leaves a broken archive behind.
+ * <p>
+ * Readers using the central directory do not see the gaps, readers going through the local headers one
+ * by one see the replaced entries too. When the gaps would take more than half of the entry data,
+ * the archive is compacted, written again with just the current entries to a temporary file which then
+ * replaces it. If the archive does not exist or cannot be read, it is created the same way.
+ * <p>
+ * The {@code glassfish-distribution} packaging runs this goal instead of the {@code maven-assembly-plugin}
+ * in the package phase if the {@value #INCREMENTAL_PACKAGING_PROPERTY} property is {@code true}, which speeds up
+ * repeated local builds.
+ */
+@Mojo(name = "update-distribution", threadSafe = true, defaultPhase = LifecyclePhase.PACKAGE)
+public final class UpdateDistributionMojo extends AbstractMojo {
+
+    /**
+     * Property switching the {@code glassfish-distribution} packaging from the {@code maven-assembly-plugin}
+     * to this goal.
+     */
+    static final String INCREMENTAL_PACKAGING_PROPERTY = Constants.PROPERTY_PREFIX + "incrementalPackaging";
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "updateDistribution.";
+    private static final String STATE_SUFFIX = ".state";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String SEPARATOR = "\t";
+    private static final int PERMISSIONS_SHIFT = 16;
+    private static final int FILE_TYPE = 0100000;
+    private static final int DIRECTORY_TYPE = 040000;
+    private static final int DIRECTORY_FLAG = 0x10;
+    private static final int FILE_MODE = 0644;
+    private static final int DIRECTORY_MODE = 0755;
+    private static final int PERMISSIONS_MASK = 0777;
+    private static final PosixFilePermission[] PERMISSIONS = {
+        PosixFilePermission.OTHERS_EXECUTE, PosixFilePermission.OTHERS_WRITE, PosixFilePermission.OTHERS_READ,
+        PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.GROUP_WRITE, PosixFilePermission.GROUP_READ,
+        PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_READ,
+    };
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int BATCH_PER_THREAD = 4;
+
+    /**
+     * The directory to package.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The distribution zip to update or create.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "outputFile",
+        defaultValue = "${project.build.directory}/${project.build.finalName}.zip")
+    private File outputFile;
+
+    /**
+     * Compression level of changed entries, 0-9.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "compressionLevel", defaultValue = "6")
+    private int compressionLevel;
+
+    /**
+     * Timestamp of all entries, seconds since the epoch or an ISO-8601 date time.
+     * If not set, entries get the last modified time of the staged files.
+     */
+    @Parameter(defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Number of threads comparing and compressing files. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * If {@code true}, the goal runs only if the {@value #INCREMENTAL_PACKAGING_PROPERTY} property is {@code true}.
+     * Set by the {@code glassfish-distribution} packaging.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean requireIncrementalPackaging;
+
+    /**
+     * Enables this goal in the package phase of the {@code glassfish-distribution} packaging and skips
+     * the {@code maven-assembly-plugin} there.
+     */
+    @Parameter(property = INCREMENTAL_PACKAGING_PROPERTY, defaultValue = "false")
+    private boolean incrementalPackaging;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        if (requireIncrementalPackaging && !incrementalPackaging) {
+            getLog().debug("Incremental packaging is not enabled by " + INCREMENTAL_PACKAGING_PROPERTY);
+            return;
+        }
+        final Long fixedTime;
+        try {
+            fixedTime = outputTimestamp == null || outputTimestamp.length() < 2 ? null
+                : DosTime.parseOutputTimestamp(outputTimestamp);
+        } catch (final IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final Path target = outputFile.toPath();
+        final Path journal = Path.of(outputFile.getPath() + JOURNAL_SUFFIX);
+        recover(journal, target);
+        final Map<String, Path> staged = listStage();
+        final List<RawZipEntry> existing = new ArrayList<>();
+        long centralDirectoryOffset = 0;
+        boolean readable = false;
+        if (outputFile.isFile()) {
+            try (ZipReader reader = new ZipReader(target)) {
+                existing.addAll(reader.getEntries());
+                centralDirectoryOffset = reader.getCentralDirectoryOffset();
+                readable = true;
+            } catch (final IOException e) {
+                getLog().warn("Cannot read " + outputFile + ", it will be recreated: " + e.getMessage());
+                existing.clear();
+                centralDirectoryOffset = 0;
+            }
+        }
+
+        final File stateFile = new File(outputFile.getPath() + STATE_SUFFIX);
+        final Map<String, FileState> previousState = existing.isEmpty() ? Map.of() : readState(stateFile);
+        final Map<String, FileState> state = new ConcurrentHashMap<>();
+
+        // existing entries in the order of their data in the archive
+        existing.sort(Comparator.comparingLong(RawZipEntry::getLocalHeaderOffset));
+        final List<Boolean> unchanged = Parallel.map(existing, threads,
+            entry -> isUnchanged(entry, staged.get(entry.getName()), fixedTime, previousState, state));
+        final Map<String, Path> changed = new LinkedHashMap<>(staged);
+        final List<RawZipEntry> kept = new ArrayList<>();
+        long keptBytes = 0;
+        int removed = 0;
+        for (int i = 0; i < existing.size(); i++) {
+            final RawZipEntry entry = existing.get(i);
+            if (unchanged.get(i)) {
+                changed.remove(entry.getName());
+                kept.add(entry);
+                keptBytes += entry.getDataOffset() - entry.getLocalHeaderOffset() + entry.getCompressedSize();
+            } else if (!staged.containsKey(entry.getName())) {
+                removed++;
+            }
+        }
+        if (readable && changed.isEmpty() && kept.size() == existing.size()) {
+            getLog().info(outputFile + " is up to date");
+            writeState(stateFile, state);
+            return;
+        }
+        final boolean compact = !readable || centralDirectoryOffset - keptBytes > keptBytes;
+        try {
+            Files.createDirectories(outputFile.getAbsoluteFile().getParentFile().toPath());
+            if (compact) {
+                rewrite(target, readable, kept, changed, fixedTime, state);
+            } else {
+                update(target, journal, centralDirectoryOffset, kept, changed, fixedTime, state);
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to update " + outputFile, e);
+        }
+        writeState(stateFile, state);
+        getLog().info("Updated " + outputFile + ": " + kept.size() + " entries unchanged, " + changed.size()
+            + " written, " + removed + " removed" + (compact && readable ? ", compacted" : ""));
+    }
+
+
+    /**
+     * Writes the changed entries and the central directory over the old central directory,
+     * which is saved to the journal first.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void update(final Path archive, final Path journal, final long centralDirectoryOffset,
+        final List<RawZipEntry> kept, final Map<String, Path> changed, final Long fixedTime,
+        final Map<String, FileState> state) throws IOException, MojoExecutionException {
+        writeJournal(archive, journal, centralDirectoryOffset);
+        try {
+            final ZipWriter writer;
+            try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.WRITE)) {
+                channel.position(centralDirectoryOffset);
+                writer = new ZipWriter(Channels.newOutputStream(channel), centralDirectoryOffset);
+                try {
+                    for (final RawZipEntry entry : kept) {
+                        writer.keepEntry(entry);
+                    }
+                    writeChanged(writer, changed, fixedTime, state);
+                } finally {
+                    writer.close();
+                }
+            }
+            try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.WRITE)) {
+                channel.truncate(writer.getPosition());
+            }
+        } catch (final IOException | MojoExecutionException | RuntimeException e) {
+            try {
+                restore(journal, archive);
+            } catch (final IOException restoreException) {
+                e.addSuppressed(restoreException);
+                throw e;
+            }
+            Files.delete(journal);
+            throw e;
+        }
+        Files.delete(journal);
+    }
+
+
+    /**
+     * Writes the kept and changed entries to a new archive which then replaces the old one.
+     */
+    private void rewrite(final Path archive, final boolean readable, final List<RawZipEntry> kept,
+        final Map<String, Path> changed, final Long fixedTime, final Map<String, FileState> state)
+        throws IOException, MojoExecutionException {
+        final Path temp = Files.createTempFile(archive.toAbsolutePath().getParent(), "." + archive.getFileName(),
+            ".tmp");
+        try {
+            try (ZipReader reader = readable ? new ZipReader(archive) : null;
+                ZipWriter writer = new ZipWriter(Files.newOutputStream(temp))) {
+                for (final RawZipEntry entry : kept) {
+                    writer.copyEntry(reader, entry);
+                }
+                writeChanged(writer, changed, fixedTime, state);
+            }
+            StagingLocks.moveAtomically(temp, archive);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    /**
+     * Compresses the changed files in parallel and writes them in the order of the map.
+     */
+    private void writeChanged(final ZipWriter writer, final Map<String, Path> changed, final Long fixedTime,
+        final Map<String, FileState> state) throws IOException, MojoExecutionException {
+        final List<Map.Entry<String, Path>> files = new ArrayList<>(changed.entrySet());
+        // limits the memory used by compressed data waiting to be written
+        final int batch = Parallel.threads(threads) * BATCH_PER_THREAD;
+        for (int start = 0; start < files.size(); start += batch) {
+            final List<Map.Entry<String, Path>> part = files.subList(start, Math.min(files.size(), start + batch));
+            for (final Compressed compressed : Parallel.map(part, threads,
+                file -> compress(file.getKey(), file.getValue(), fixedTime, state))) {
+                writer.writeEntry(compressed.entry, compressed.data);
+            }
+        }
+    }
+
+
+    /**
+     * Saves the offset and the bytes from the offset to the end of the archive.
+     */
+    private static void writeJournal(final Path archive, final Path journal, final long offset) throws IOException {
+        StagingLocks.writeAtomically(journal, temp -> {
+            try (FileChannel source = FileChannel.open(archive, StandardOpenOption.READ);
+                DataOutputStream output = new DataOutputStream(Files.newOutputStream(temp))) {
+                final long length = source.size() - offset;
+                output.writeLong(offset);
+                output.writeLong(length);
+                output.flush();
+                if (source.transferTo(offset, length, Channels.newChannel(output)) != length) {
+                    throw new IOException("Unexpected end of " + archive);
+                }
+            }
+        });
+    }
+
+
+    /**
+     * Restores the archive from the journal of an interrupted update.
+     */
+    private void recover(final Path journal, final Path archive) throws MojoExecutionException {
+        if (!Files.isRegularFile(journal)) {
+            return;
+        }
+        getLog().warn("Restoring " + archive + " after an interrupted update");
+        try {
+            if (Files.isRegularFile(archive)) {
+                restore(journal, archive);
+            }
+            Files.delete(journal);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to restore " + archive + " from " + journal, e);
+        }
+    }
+
+
+    private static void restore(final Path journal, final Path archive) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)));
+            FileChannel channel = FileChannel.open(archive, StandardOpenOption.WRITE)) {
+            final long offset = input.readLong();
+            final long length = input.readLong();
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = offset;
+            for (int read = input.read(buffer.array()); read >= 0; read = input.read(buffer.array())) {
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+            if (position != offset + length) {
+                throw new IOException("Incomplete journal " + journal);
+            }
+            channel.truncate(position);
+        }
+    }
+
+
+    private Map<String, Path> listStage() throws MojoExecutionException {
+        final Path root = stageDirectory.toPath();
+        if (!Files.isDirectory(root)) {
+            throw new MojoExecutionException("The stage directory " + stageDirectory + " does not exist");
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(path -> !path.equals(root)).sorted().collect(Collectors.toMap(
+                path -> StageFiles.relativize(root, path) + (Files.isDirectory(path) ? "/" : ""), path -> path,
+                (first, second) -> first, LinkedHashMap::new));
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to list " + stageDirectory, e);
+        }
+    }
+
+
+    private boolean isUnchanged(final RawZipEntry entry, final Path file, final Long fixedTime,
+        final Map<String, FileState> previousState, final Map<String, FileState> state) throws IOException {
+        if (file == null || entry.getExternalAttributes() != getExternalAttributes(file)
+            || fixedTime != null && entry.getDosTime() != fixedTime) {
+            return false;
+        }
+        if (entry.isDirectory()) {
+            return true;
+        }
+        final long size = Files.size(file);
+        if (size != entry.getSize()) {
+            return false;
+        }
+        final long modified = Files.getLastModifiedTime(file).toMillis();
+        final FileState previous = previousState.get(entry.getName());
+        if (previous != null && previous.size == size && previous.modified == modified) {
+            state.put(entry.getName(), previous);
+            return previous.crc == entry.getCrc();
+        }
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(file)) {
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        state.put(entry.getName(), new FileState(size, modified, crc.getValue()));
+        return crc.getValue() == entry.getCrc();
+    }
+
+
+    private Compressed compress(final String name, final Path file, final Long fixedTime,
+        final Map<String, FileState> state) throws IOException {
+        final RawZipEntry entry = new RawZipEntry();
+        entry.setName(name);
+        final FileTime modified = Files.getLastModifiedTime(file);
+        entry.setDosTime(fixedTime == null ? DosTime.toDosTime(modified.toInstant()) : fixedTime);
+        entry.setExternalAttributes(getExternalAttributes(file));
+        if (entry.isDirectory()) {
+            entry.setMethod(ZipEntry.STORED);
+            return new Compressed(entry, new byte[0]);
+        }
+        final byte[] content = Files.readAllBytes(file);
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        state.put(name, new FileState(content.length, modified.toMillis(), crc.getValue()));
+        entry.setCrc(crc.getValue());
+        entry.setSize(content.length);
+        final byte[] data = deflate(content);
+        // incompressible content would just grow
+        if (data.length >= content.length) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setCompressedSize(content.length);
+            return new Compressed(entry, content);
+        }
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setCompressedSize(data.length);
+        return new Compressed(entry, data);
+    }
+
+
+    private byte[] deflate(final byte[] content) {
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 2 + 1);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                final int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+
+    private static long getExternalAttributes(final Path file) throws IOException {
+        final boolean directory = Files.isDirectory(file);
+        int mode = directory ? DIRECTORY_MODE : FILE_MODE;
+        if (Files.getFileAttributeView(file, PosixFileAttributeView.class) != null) {
+            final Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file);
+            mode = 0;
+            for (int i = 0; i < PERMISSIONS.length; i++) {
+                if (permissions.contains(PERMISSIONS[i])) {
+                    mode |= 1 << i;
+                }
+            }
+        }
+        final long type = directory ? DIRECTORY_TYPE : FILE_TYPE;
+        return (type | mode & PERMISSIONS_MASK) << PERMISSIONS_SHIFT | (directory ? DIRECTORY_FLAG : 0);
+    }
+
+
+    /**
+     * Reads the state of the previous update.
+     *
+     * @return entry name to the state of its file, empty if the state cannot be read
+     */
+    private Map<String, FileState> readState(final File stateFile) {
+        final Map<String, FileState> state = new HashMap<>();
+        if (!stateFile.isFile()) {
+            return state;
+        }
+        try {
+            for (final String line : Files.readAllLines(stateFile.toPath(), StandardCharsets.UTF_8)) {
+                final String[] fields = line.split(SEPARATOR);
+                state.put(fields[0], new FileState(Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3])));
+            }
+        } catch (final IOException | RuntimeException e) {
+            getLog().warn("Cannot read " + stateFile + ", all files will be checked: " + e.getMessage());
+            state.clear();
+        }
+        return state;
+    }
+
+
+    private void writeState(final File stateFile, final Map<String, FileState> state) throws MojoExecutionException {
+        final StringBuilder content = new StringBuilder();
+        for (final Map.Entry<String, FileState> entry : new TreeMap<>(state).entrySet()) {
+            content.append(entry.getKey()).append('\t').append(entry.getValue().size).append('\t')
+                .append(entry.getValue().modified).append('\t').append(entry.getValue().crc).append('\n');
+        }
+        try {
+            StagingLocks.writeAtomically(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)),
+                stateFile.toPath());
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to write " + stateFile, e);
+        }
+    }
+
+
+    /**
+     * Size, last modified time and CRC-32 of a staged file.
+     */
+    private static final class FileState {
+
+        private final long size;
+        private final long modified;
+        private final long crc;
+
+        FileState(final long fileSize, final long lastModified, final long fileCrc) {
+            this.size = fileSize;
+            this.modified = lastModified;
+            this.crc = fileCrc;
+        }
+    }
+
+
+    /**
+     * Entry ready to be written.
+     */
+    private static final class Compressed {
+
+        private final RawZipEntry entry;
+        private final byte[] data;
+
+        Compressed(final RawZipEntry rawEntry, final byte[] entryData) {
+            this.entry = rawEntry;
+            this.data = entryData;
+        }
+    }
+}
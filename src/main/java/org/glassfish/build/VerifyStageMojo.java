@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Verifies integrity of the stage directory before it is packaged.
+ * <p>
+ * All archives of the stage are opened in parallel, their central directories are read and
+ * the content of every entry is checked against its CRC-32 and size. Files recorded in the staging
+ * manifest written by the {@code featuresets-dependencies} goal must exist and have the size
+ * of their source. All problems are reported at once.
+ */
+@Mojo(name = "verify-stage", threadSafe = true, defaultPhase = LifecyclePhase.PREPARE_PACKAGE)
+public final class VerifyStageMojo extends AbstractMojo {
+
+    private static final String PROPERTY_PREFIX = Constants.PROPERTY_PREFIX + "verifyStage.";
+
+    /**
+     * The directory to verify.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stageDirectory", defaultValue = "${project.build.directory}/stage")
+    private File stageDirectory;
+
+    /**
+     * The staging manifest written by the {@code featuresets-dependencies} goal. Ignored if it does not exist.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "stagingManifest",
+        defaultValue = "${project.build.directory}/stage.manifest")
+    private File stagingManifest;
+
+    /**
+     * Comma separated list of file extensions of archives to verify.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "archiveTypes", defaultValue = "jar,war,rar,zip")
+    private List<String> archiveTypes;
+
+    /**
+     * Number of threads verifying the archives. Zero or less means the number of processors.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Skip goal execution.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Goal is skipped");
+            return;
+        }
+        final StagingManifest manifest;
+        try {
+            manifest = StagingManifest.read(stagingManifest);
+        } catch (final IOException | NumberFormatException e) {
+            throw new MojoExecutionException("Failed to read " + stagingManifest, e);
+        }
+        final List<String> problems = new StageVerifier(archiveTypes, threads).verify(stageDirectory, manifest);
+        StageVerifier.report(getLog(), stageDirectory, problems);
+    }
+}
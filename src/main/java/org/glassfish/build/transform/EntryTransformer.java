@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Transformation of archive entries applied while they are extracted.
+ * <p>
+ * Transformers wrap the entry content stream, so several transformers matching the same entry
+ * are chained and the content is still read and written just once. Implementations must have
+ * a public constructor without parameters and are configured by {@link #configure(Properties)}.
+ */
+public interface EntryTransformer {
+
+    /**
+     * Configures the transformer. Called once before any entry is transformed.
+     *
+     * @param properties transformer properties merged with project properties
+     */
+    default void configure(final Properties properties) {
+        // nothing to configure by default
+    }
+
+
+    /**
+     * Wraps the entry content.
+     *
+     * @param path path of the entry in the archive, separated by slashes
+     * @param content the entry content, possibly already transformed by another transformer
+     * @return the transformed content
+     * @throws IOException if the transformation cannot be created
+     */
+    default InputStream transform(final String path, final InputStream content) throws IOException {
+        return content;
+    }
+
+
+    /**
+     * Post-processes the extracted file, ie. to change its attributes.
+     *
+     * @param path path of the entry in the archive, separated by slashes
+     * @param file the extracted file
+     * @throws IOException if the file cannot be processed
+     */
+    default void transformFile(final String path, final Path file) throws IOException {
+        // nothing to do by default
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.transform;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Normalizes line endings to the value of the {@code lineEnding} property,
+ * {@code lf} (default) or {@code crlf}.
+ */
+public final class LineEndingTransformer implements EntryTransformer {
+
+    private boolean crlf;
+
+    @Override
+    public void configure(final Properties properties) {
+        final String lineEnding = properties.getProperty("lineEnding", "lf");
+        if ("crlf".equalsIgnoreCase(lineEnding)) {
+            crlf = true;
+        } else if ("lf".equalsIgnoreCase(lineEnding)) {
+            crlf = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported lineEnding: " + lineEnding + ", use lf or crlf");
+        }
+    }
+
+
+    @Override
+    public InputStream transform(final String path, final InputStream content) {
+        return new NormalizingInputStream(content);
+    }
+
+
+    /**
+     * Stream replacing CR, LF and CRLF with the configured line ending.
+     */
+    private final class NormalizingInputStream extends FilterInputStream {
+
+        private boolean pendingLf;
+        private boolean afterCr;
+
+        NormalizingInputStream(final InputStream content) {
+            super(new BufferedInputStream(content));
+        }
+
+
+        @Override
+        public int read() throws IOException {
+            if (pendingLf) {
+                pendingLf = false;
+                return '\n';
+            }
+            int c = in.read();
+            if (afterCr) {
+                afterCr = false;
+                if (c == '\n') {
+                    c = in.read();
+                }
+            }
+            if (c == '\r') {
+                afterCr = true;
+                return lineEnding();
+            }
+            if (c == '\n') {
+                return lineEnding();
+            }
+            return c;
+        }
+
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int count = 0;
+            while (count < len) {
+                final int c = read();
+                if (c < 0) {
+                    return count == 0 ? -1 : count;
+                }
+                b[off + count++] = (byte) c;
+            }
+            return count;
+        }
+
+
+        @Override
+        public long skip(final long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && read() >= 0) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+
+        @Override
+        public int available() {
+            return pendingLf ? 1 : 0;
+        }
+
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+
+        private int lineEnding() {
+            if (crlf) {
+                pendingLf = true;
+                return '\r';
+            }
+            return '\n';
+        }
+    }
+}
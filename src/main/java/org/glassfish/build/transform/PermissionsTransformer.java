@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.transform;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Sets POSIX permissions of extracted files to the value of the {@code permissions} property,
+ * ie. {@code rwxr-xr-x}. Does nothing on file systems without POSIX permissions.
+ */
+public final class PermissionsTransformer implements EntryTransformer {
+
+    private Set<PosixFilePermission> permissions;
+
+    @Override
+    public void configure(final Properties properties) {
+        final String value = properties.getProperty("permissions");
+        if (value == null) {
+            throw new IllegalArgumentException("The permissions property is required, ie. rwxr-xr-x");
+        }
+        permissions = PosixFilePermissions.fromString(value);
+    }
+
+
+    @Override
+    public void transformFile(final String path, final Path file) throws IOException {
+        if (Files.getFileAttributeView(file, PosixFileAttributeView.class) != null) {
+            Files.setPosixFilePermissions(file, permissions);
+        }
+    }
+}
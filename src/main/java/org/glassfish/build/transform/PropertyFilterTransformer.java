@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.transform;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Replaces {@code ${name}} tokens with values of the properties.
+ * Unknown tokens are kept as they are.
+ * <p>
+ * Tokens are found on the byte level, which works for ASCII compatible encodings like UTF-8, because
+ * the token delimiters are never part of a multibyte character. Values are encoded by the charset
+ * given by the {@code encoding} property, UTF-8 by default.
+ */
+public final class PropertyFilterTransformer implements EntryTransformer {
+
+    /**
+     * Maximal length of a token name, longer sequences are not considered tokens.
+     */
+    private static final int MAX_NAME_LENGTH = 256;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private Properties values = new Properties();
+    private Charset charset = StandardCharsets.UTF_8;
+
+    @Override
+    public void configure(final Properties properties) {
+        this.values = properties;
+        this.charset = Charset.forName(properties.getProperty("encoding", StandardCharsets.UTF_8.name()));
+    }
+
+
+    @Override
+    public InputStream transform(final String path, final InputStream content) {
+        return new FilteringInputStream(content);
+    }
+
+
+    /**
+     * Stream replacing the tokens.
+     */
+    private final class FilteringInputStream extends FilterInputStream {
+
+        private final PushbackInputStream source;
+        private byte[] pending = new byte[0];
+        private int pendingPosition;
+
+        FilteringInputStream(final InputStream content) {
+            this(new PushbackInputStream(new BufferedInputStream(content), 1));
+        }
+
+
+        private FilteringInputStream(final PushbackInputStream content) {
+            super(content);
+            this.source = content;
+        }
+
+
+        @Override
+        public int read() throws IOException {
+            if (pendingPosition < pending.length) {
+                return pending[pendingPosition++] & BYTE_MASK;
+            }
+            final int b = source.read();
+            if (b != '$') {
+                return b;
+            }
+            final ByteArrayOutputStream token = new ByteArrayOutputStream();
+            token.write(b);
+            final int open = source.read();
+            if (open != '{') {
+                unread(open);
+                return replay(token.toByteArray());
+            }
+            token.write(open);
+            final StringBuilder name = new StringBuilder();
+            while (name.length() <= MAX_NAME_LENGTH) {
+                final int c = source.read();
+                if (c == '}') {
+                    final String value = values.getProperty(name.toString());
+                    token.write(c);
+                    return replay(value == null ? token.toByteArray() : value.getBytes(charset));
+                }
+                if (c < 0 || c == '\n' || c == '$') {
+                    // not a token, the character may start another one
+                    unread(c);
+                    return replay(token.toByteArray());
+                }
+                token.write(c);
+                name.append((char) c);
+            }
+            return replay(token.toByteArray());
+        }
+
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int count = 0;
+            while (count < len) {
+                final int c = read();
+                if (c < 0) {
+                    return count == 0 ? -1 : count;
+                }
+                b[off + count++] = (byte) c;
+            }
+            return count;
+        }
+
+
+        @Override
+        public long skip(final long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && read() >= 0) {
+                skipped++;
+            }
+            return skipped;
+        }
+
+
+        @Override
+        public int available() throws IOException {
+            return pending.length - pendingPosition;
+        }
+
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+
+        private void unread(final int c) throws IOException {
+            if (c >= 0) {
+                source.unread(c);
+            }
+        }
+
+
+        private int replay(final byte[] bytes) throws IOException {
+            if (bytes.length == 0) {
+                return read();
+            }
+            pending = bytes;
+            pendingPosition = 1;
+            return bytes[0] & BYTE_MASK;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.zip;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions of timestamps to the MS-DOS format used by zip headers.
+ * <p>
+ * All conversions use UTC, so the same timestamp gives the same bytes on every machine.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class DosTime {
+
+    /**
+     * The lowest time representable in the MS-DOS format, 1980-01-01T00:00:00.
+     */
+    public static final long MINIMUM = (1 << 21) | (1 << 16);
+
+    /**
+     * The highest time representable in the MS-DOS format, 2107-12-31T23:59:58.
+     */
+    public static final long MAXIMUM = (127L << 25) | (12 << 21) | (31 << 16) | (23 << 11) | (59 << 5) | (58 >> 1);
+
+    private DosTime() {
+        // hidden
+    }
+
+
+    /**
+     * Convert the instant to the MS-DOS format.
+     * <p>
+     * Times outside of the range of the format are clamped to {@link #MINIMUM} and {@link #MAXIMUM}.
+     *
+     * @param instant the time to convert
+     * @return date in the upper and time in the lower 16 bits
+     */
+    public static long toDosTime(final Instant instant) {
+        final LocalDateTime time = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        if (time.getYear() < 1980) {
+            return MINIMUM;
+        }
+        if (time.getYear() > 2107) {
+            return MAXIMUM;
+        }
+        // the year takes the sign bit of an int from 2044 on
+        return (time.getYear() - 1980L) << 25
+            | (long) time.getMonthValue() << 21
+            | (long) time.getDayOfMonth() << 16
+            | (long) time.getHour() << 11
+            | (long) time.getMinute() << 5
+            | (long) time.getSecond() >> 1;
+    }
+
+
+    /**
+     * Convert the time in the MS-DOS format to an instant, taking it as UTC.
+     *
+     * @param dosTime date in the upper and time in the lower 16 bits
+     * @return the instant
+     */
+    public static Instant toInstant(final long dosTime) {
+        // some tools write invalid values, keep them in the valid range
+        final int year = (int) ((dosTime >> 25) & 0x7F) + 1980;
+        final int month = clamp((int) ((dosTime >> 21) & 0x0F), 1, 12);
+        final int day = clamp((int) ((dosTime >> 16) & 0x1F), 1, YearMonth.of(year, month).lengthOfMonth());
+        final int hour = clamp((int) ((dosTime >> 11) & 0x1F), 0, 23);
+        final int minute = clamp((int) ((dosTime >> 5) & 0x3F), 0, 59);
+        final int second = clamp((int) ((dosTime << 1) & 0x3E), 0, 59);
+        return LocalDateTime.of(year, month, day, hour, minute, second).toInstant(ZoneOffset.UTC);
+    }
+
+
+    /**
+     * Parse the value of the {@code project.build.outputTimestamp} property the same way
+     * as the maven-archiver does.
+     *
+     * @param outputTimestamp seconds since the epoch or an ISO-8601 date time, may be {@code null}
+     * @return the time in the MS-DOS format, {@link #MINIMUM} if the timestamp is not set
+     * @throws IllegalArgumentException if the value cannot be parsed
+     */
+    public static long parseOutputTimestamp(final String outputTimestamp) {
+        // a single character is used by maven to disable reproducible builds in child modules
+        if (outputTimestamp == null || outputTimestamp.length() < 2) {
+            return MINIMUM;
+        }
+        if (outputTimestamp.chars().allMatch(Character::isDigit)) {
+            return toDosTime(Instant.ofEpochSecond(Long.parseLong(outputTimestamp)));
+        }
+        try {
+            return toDosTime(OffsetDateTime.parse(outputTimestamp).toInstant());
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid output timestamp: " + outputTimestamp, e);
+        }
+    }
+
+
+    private static int clamp(final int value, final int min, final int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
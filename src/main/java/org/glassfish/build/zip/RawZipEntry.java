@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.zip;
+
+import java.util.zip.ZipEntry;
+
+/**
+ * Header fields of a zip entry as they are stored in the archive.
+ * <p>
+ * Unlike {@link ZipEntry}, the sizes and the checksum are always known up front, so the entry
+ * data can be written without data descriptors and copied between archives without
+ * decompression.
+ */
+public final class RawZipEntry {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private String name;
+    private int method = ZipEntry.DEFLATED;
+    private long dosTime;
+    private long crc;
+    private long compressedSize;
+    private long size;
+    private long externalAttributes;
+    private byte[] extra = EMPTY;
+    private byte[] centralExtra = EMPTY;
+    private long localHeaderOffset = -1;
+    private long dataOffset = -1;
+
+    /**
+     * Get the entry name.
+     *
+     * @return the entry name, directories end with a slash
+     */
+    public String getName() {
+        return name;
+    }
+
+
+    /**
+     * Set the entry name.
+     *
+     * @param entryName the entry name, directories end with a slash
+     */
+    public void setName(final String entryName) {
+        this.name = entryName;
+    }
+
+
+    /**
+     * Check whether the entry is a directory.
+     *
+     * @return {@code true} if the name ends with a slash
+     */
+    public boolean isDirectory() {
+        return name.endsWith("/");
+    }
+
+
+    /**
+     * Get the compression method.
+     *
+     * @return {@link ZipEntry#STORED} or {@link ZipEntry#DEFLATED}
+     */
+    public int getMethod() {
+        return method;
+    }
+
+
+    /**
+     * Set the compression method.
+     *
+     * @param entryMethod {@link ZipEntry#STORED} or {@link ZipEntry#DEFLATED}
+     */
+    public void setMethod(final int entryMethod) {
+        this.method = entryMethod;
+    }
+
+
+    /**
+     * Get the modification time in the MS-DOS format.
+     *
+     * @return date in the upper and time in the lower 16 bits
+     */
+    public long getDosTime() {
+        return dosTime;
+    }
+
+
+    /**
+     * Set the modification time in the MS-DOS format.
+     *
+     * @param entryDosTime date in the upper and time in the lower 16 bits
+     * @see DosTime
+     */
+    public void setDosTime(final long entryDosTime) {
+        this.dosTime = entryDosTime;
+    }
+
+
+    /**
+     * Get the CRC-32 of the uncompressed data.
+     *
+     * @return the checksum
+     */
+    public long getCrc() {
+        return crc;
+    }
+
+
+    /**
+     * Set the CRC-32 of the uncompressed data.
+     *
+     * @param entryCrc the checksum
+     */
+    public void setCrc(final long entryCrc) {
+        this.crc = entryCrc;
+    }
+
+
+    /**
+     * Get the size of the data as stored in the archive.
+     *
+     * @return the compressed size
+     */
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+
+    /**
+     * Set the size of the data as stored in the archive.
+     *
+     * @param entryCompressedSize the compressed size
+     */
+    public void setCompressedSize(final long entryCompressedSize) {
+        this.compressedSize = entryCompressedSize;
+    }
+
+
+    /**
+     * Get the uncompressed size.
+     *
+     * @return the uncompressed size
+     */
+    public long getSize() {
+        return size;
+    }
+
+
+    /**
+     * Set the uncompressed size.
+     *
+     * @param entrySize the uncompressed size
+     */
+    public void setSize(final long entrySize) {
+        this.size = entrySize;
+    }
+
+
+    /**
+     * Get the external file attributes of the central directory record.
+     *
+     * @return the external attributes, unix permissions are in the upper 16 bits
+     */
+    public long getExternalAttributes() {
+        return externalAttributes;
+    }
+
+
+    /**
+     * Set the external file attributes of the central directory record.
+     *
+     * @param attributes the external attributes, unix permissions are in the upper 16 bits
+     */
+    public void setExternalAttributes(final long attributes) {
+        this.externalAttributes = attributes;
+    }
+
+
+    /**
+     * Get the extra field of the local header.
+     *
+     * @return the extra field, never {@code null}
+     */
+    public byte[] getExtra() {
+        return extra;
+    }
+
+
+    /**
+     * Set the extra field of the local header.
+     *
+     * @param entryExtra the extra field, {@code null} for none
+     */
+    public void setExtra(final byte[] entryExtra) {
+        this.extra = entryExtra == null ? EMPTY : entryExtra;
+    }
+
+
+    /**
+     * Get the extra field of the central directory record.
+     *
+     * @return the extra field, never {@code null}
+     */
+    public byte[] getCentralExtra() {
+        return centralExtra;
+    }
+
+
+    /**
+     * Set the extra field of the central directory record.
+     *
+     * @param entryExtra the extra field, {@code null} for none
+     */
+    public void setCentralExtra(final byte[] entryExtra) {
+        this.centralExtra = entryExtra == null ? EMPTY : entryExtra;
+    }
+
+
+    /**
+     * Get the position of the local header in the archive it was read from.
+     *
+     * @return the offset of the local header, or -1 if the entry was not read from an archive
+     */
+    public long getLocalHeaderOffset() {
+        return localHeaderOffset;
+    }
+
+
+    /**
+     * Set the position of the local header in the archive it was read from.
+     *
+     * @param offset the offset of the local header
+     */
+    public void setLocalHeaderOffset(final long offset) {
+        this.localHeaderOffset = offset;
+    }
+
+
+    /**
+     * Get the position of the entry data in the archive it was read from.
+     *
+     * @return the offset of the first data byte, or -1 if the entry was not read from an archive
+     */
+    public long getDataOffset() {
+        return dataOffset;
+    }
+
+
+    /**
+     * Set the position of the entry data in the archive it was read from.
+     *
+     * @param offset the offset of the first data byte
+     */
+    public void setDataOffset(final long offset) {
+        this.dataOffset = offset;
+    }
+
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
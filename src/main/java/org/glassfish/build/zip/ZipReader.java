@@ -0,0 +1,468 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.zip;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Reads the central directory of a zip archive and gives access to the raw entry data.
+ * <p>
+ * The raw data can be copied to a {@link ZipWriter} without decompression.
+ * Zip64 archives are supported, encrypted archives are not. If a name is in the central directory
+ * more than once, the last entry wins as when the archive is extracted, see {@link #getDuplicates()}.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class ZipReader implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int FLAG_ENCRYPTED = 1;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, RawZipEntry> entries = new LinkedHashMap<>();
+    private final List<String> duplicates = new ArrayList<>();
+    private long centralDirectoryOffset;
+
+    /**
+     * Opens the archive and reads its central directory.
+     *
+     * @param zipFile the archive
+     * @throws IOException if the file cannot be read or is not a supported zip archive
+     */
+    public ZipReader(final Path zipFile) throws IOException {
+        this.path = zipFile;
+        this.channel = FileChannel.open(zipFile, StandardOpenOption.READ);
+        try {
+            readCentralDirectory();
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Get the archive path.
+     *
+     * @return the archive path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+
+    /**
+     * Get all entries in the order of the central directory.
+     *
+     * @return unmodifiable list of entries
+     */
+    public List<RawZipEntry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+    }
+
+
+    /**
+     * Get the entry by its name.
+     *
+     * @param name the entry name
+     * @return the entry or {@code null} if there is no such entry
+     */
+    public RawZipEntry getEntry(final String name) {
+        return entries.get(name);
+    }
+
+
+    /**
+     * Get names which are in the central directory more than once. Just the last entry of each
+     * of them is in the {@link #getEntries()}.
+     *
+     * @return unmodifiable list of duplicate names, empty for a well-formed archive
+     */
+    public List<String> getDuplicates() {
+        return Collections.unmodifiableList(duplicates);
+    }
+
+
+    /**
+     * Get the position of the central directory, which is also the end of the last entry data.
+     *
+     * @return the offset of the central directory
+     */
+    public long getCentralDirectoryOffset() {
+        return centralDirectoryOffset;
+    }
+
+
+    /**
+     * Copies the entry data as it is stored in the archive, without decompression.
+     *
+     * @param entry the entry of this archive
+     * @param output the target stream
+     * @throws IOException if the data cannot be copied
+     */
+    public void copyRaw(final RawZipEntry entry, final OutputStream output) throws IOException {
+        copyRange(entry.getDataOffset(), entry.getCompressedSize(), output);
+    }
+
+
+    /**
+     * Copies a range of bytes of the archive.
+     *
+     * @param offset the first byte to copy
+     * @param length number of bytes to copy
+     * @param output the target stream
+     * @throws IOException if the data cannot be copied
+     */
+    public void copyRange(final long offset, final long length, final OutputStream output) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, length)));
+        long position = offset;
+        final long end = offset + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + path + " at " + position);
+            }
+            output.write(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+
+    /**
+     * Reads a range of bytes of the archive.
+     *
+     * @param offset the first byte to read
+     * @param length number of bytes to read
+     * @return the bytes
+     * @throws IOException if the range cannot be read
+     */
+    public byte[] readRange(final long offset, final int length) throws IOException {
+        return read(offset, length).array();
+    }
+
+
+    /**
+     * Get the size of the archive file.
+     *
+     * @return the size in bytes
+     * @throws IOException if the size cannot be read
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+
+    /**
+     * Reads the entry data as it is stored in the archive, without decompression.
+     *
+     * @param entry the entry of this archive
+     * @return the raw data
+     * @throws IOException if the data cannot be read
+     */
+    public byte[] readRaw(final RawZipEntry entry) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) entry.getCompressedSize());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.getDataOffset() + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + path + " in entry " + entry.getName());
+            }
+        }
+        return buffer.array();
+    }
+
+
+    /**
+     * Opens a stream with the decompressed entry data.
+     * The stream must be closed by the caller.
+     *
+     * @param entry the entry of this archive
+     * @return the uncompressed data
+     * @throws IOException if the entry uses an unsupported compression method
+     */
+    public InputStream openContent(final RawZipEntry entry) throws IOException {
+        final InputStream raw = Channels.newInputStream(new RangeChannel(entry.getDataOffset(),
+            entry.getCompressedSize()));
+        if (entry.getMethod() == ZipEntry.STORED) {
+            return raw;
+        }
+        if (entry.getMethod() == ZipEntry.DEFLATED) {
+            final Inflater inflater = new Inflater(true);
+            return new InflaterInputStream(raw, inflater, BUFFER_SIZE) {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    inflater.end();
+                }
+            };
+        }
+        throw new IOException("Unsupported compression method " + entry.getMethod() + " of " + entry.getName()
+            + " in " + path);
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+
+    private void readCentralDirectory() throws IOException {
+        final long size = channel.size();
+        final int tailSize = (int) Math.min(size, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        final ByteBuffer tail = read(size - tailSize, tailSize);
+        int end = -1;
+        for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new IOException("Not a zip archive: " + path);
+        }
+        long count = Short.toUnsignedInt(tail.getShort(end + 10));
+        long directorySize = Integer.toUnsignedLong(tail.getInt(end + 12));
+        centralDirectoryOffset = Integer.toUnsignedLong(tail.getInt(end + 16));
+        final long endOffset = size - tailSize + end;
+        // the values in the end of central directory may be just markers, or real values if there is no locator,
+        // ie. an archive with exactly 65535 entries
+        if (endOffset >= ZIP64_LOCATOR_SIZE) {
+            final ByteBuffer locator = read(endOffset - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+            if (locator.getInt(0) == ZIP64_LOCATOR_SIGNATURE) {
+                final long recordOffset = locator.getLong(8);
+                if (recordOffset < 0 || recordOffset + ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE > endOffset) {
+                    throw new IOException("Invalid zip64 end of central directory locator in " + path);
+                }
+                final ByteBuffer record = read(recordOffset, ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+                if (record.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    throw new IOException("Invalid zip64 end of central directory in " + path);
+                }
+                count = record.getLong(32);
+                directorySize = record.getLong(40);
+                centralDirectoryOffset = record.getLong(48);
+            }
+        }
+        if (count < 0 || directorySize < 0 || centralDirectoryOffset < 0
+            || centralDirectoryOffset + directorySize > size) {
+            throw new IOException("Invalid central directory offset in " + path);
+        }
+        if (directorySize > Integer.MAX_VALUE || count > directorySize / CENTRAL_HEADER_SIZE) {
+            throw new IOException("Invalid central directory size in " + path);
+        }
+        final ByteBuffer directory = read(centralDirectoryOffset, (int) directorySize);
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > directorySize) {
+                throw new IOException("Central directory header " + i + " exceeds the central directory in " + path);
+            }
+            if (directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new IOException("Invalid central directory header " + i + " in " + path);
+            }
+            final int flags = Short.toUnsignedInt(directory.getShort(position + 8));
+            if ((flags & FLAG_ENCRYPTED) != 0) {
+                throw new IOException("Encrypted entries are not supported: " + path);
+            }
+            final RawZipEntry entry = new RawZipEntry();
+            entry.setMethod(Short.toUnsignedInt(directory.getShort(position + 10)));
+            entry.setDosTime(Integer.toUnsignedLong(directory.getInt(position + 12)));
+            entry.setCrc(Integer.toUnsignedLong(directory.getInt(position + 16)));
+            entry.setCompressedSize(Integer.toUnsignedLong(directory.getInt(position + 20)));
+            entry.setSize(Integer.toUnsignedLong(directory.getInt(position + 24)));
+            final int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            final int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            final int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            entry.setExternalAttributes(Integer.toUnsignedLong(directory.getInt(position + 38)));
+            entry.setLocalHeaderOffset(Integer.toUnsignedLong(directory.getInt(position + 42)));
+            final int headerSize = CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+            if (position + headerSize > directorySize) {
+                throw new IOException("Central directory header " + i + " exceeds the central directory in " + path);
+            }
+            final byte[] name = new byte[nameLength];
+            directory.position(position + CENTRAL_HEADER_SIZE);
+            directory.get(name);
+            entry.setName(new String(name, StandardCharsets.UTF_8));
+            if (extraLength > 0) {
+                final byte[] extra = new byte[extraLength];
+                directory.get(extra);
+                entry.setCentralExtra(extra);
+            }
+            if (entry.getCompressedSize() == ZIP64_MARKER || entry.getSize() == ZIP64_MARKER
+                || entry.getLocalHeaderOffset() == ZIP64_MARKER) {
+                readZip64Extra(entry);
+            }
+            readLocalHeader(entry);
+            // keeps the order of the central directory for the last one
+            if (entries.remove(entry.getName()) != null) {
+                duplicates.add(entry.getName());
+            }
+            entries.put(entry.getName(), entry);
+            position += headerSize;
+        }
+    }
+
+
+    /**
+     * Replaces the marker values of the entry by the values of the zip64 extended information extra field.
+     */
+    private void readZip64Extra(final RawZipEntry entry) throws IOException {
+        final ByteBuffer extra = ByteBuffer.wrap(entry.getCentralExtra()).order(ByteOrder.LITTLE_ENDIAN);
+        while (extra.remaining() >= 4) {
+            final int id = Short.toUnsignedInt(extra.getShort());
+            final int length = Short.toUnsignedInt(extra.getShort());
+            if (length > extra.remaining()) {
+                break;
+            }
+            if (id != ZIP64_EXTRA_ID) {
+                extra.position(extra.position() + length);
+                continue;
+            }
+            final ByteBuffer field = extra.slice().order(ByteOrder.LITTLE_ENDIAN);
+            field.limit(length);
+            try {
+                if (entry.getSize() == ZIP64_MARKER) {
+                    entry.setSize(field.getLong());
+                }
+                if (entry.getCompressedSize() == ZIP64_MARKER) {
+                    entry.setCompressedSize(field.getLong());
+                }
+                if (entry.getLocalHeaderOffset() == ZIP64_MARKER) {
+                    entry.setLocalHeaderOffset(field.getLong());
+                }
+            } catch (final BufferUnderflowException e) {
+                throw new IOException("Invalid zip64 extra field of " + entry.getName() + " in " + path, e);
+            }
+            if (entry.getSize() < 0 || entry.getCompressedSize() < 0 || entry.getLocalHeaderOffset() < 0) {
+                throw new IOException("Invalid zip64 extra field of " + entry.getName() + " in " + path);
+            }
+            return;
+        }
+        throw new IOException("Missing zip64 extra field of " + entry.getName() + " in " + path);
+    }
+
+
+    private void readLocalHeader(final RawZipEntry entry) throws IOException {
+        if (entry.getLocalHeaderOffset() + LOCAL_HEADER_SIZE > centralDirectoryOffset) {
+            throw new IOException("Local header of " + entry.getName() + " exceeds the central directory in " + path);
+        }
+        final ByteBuffer header = read(entry.getLocalHeaderOffset(), LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Invalid local header of " + entry.getName() + " in " + path);
+        }
+        final int nameLength = Short.toUnsignedInt(header.getShort(26));
+        final int extraLength = Short.toUnsignedInt(header.getShort(28));
+        final long extraOffset = entry.getLocalHeaderOffset() + LOCAL_HEADER_SIZE + nameLength;
+        if (extraLength > 0) {
+            entry.setExtra(read(extraOffset, extraLength).array());
+        }
+        entry.setDataOffset(extraOffset + extraLength);
+        if (entry.getDataOffset() + entry.getCompressedSize() > centralDirectoryOffset) {
+            throw new IOException("Data of " + entry.getName() + " exceed the central directory in " + path);
+        }
+    }
+
+
+    private ByteBuffer read(final long offset, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+
+    /**
+     * Readable view of a range of the archive, shares the file channel.
+     */
+    private final class RangeChannel implements ReadableByteChannel {
+
+        private long position;
+        private final long end;
+        private boolean open = true;
+
+        RangeChannel(final long offset, final long length) {
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            final ByteBuffer window = dst.duplicate();
+            window.limit(window.position() + (int) Math.min(dst.remaining(), end - position));
+            final int read = channel.read(window, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+            dst.position(dst.position() + read);
+            position += read;
+            return read;
+        }
+
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
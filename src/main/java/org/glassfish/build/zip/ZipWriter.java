@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.build.zip;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes zip archives from entries whose data is already compressed.
+ * <p>
+ * The {@link java.util.zip.ZipOutputStream} compresses the data itself, so it cannot write data
+ * compressed in parallel or copied raw from another archive. This writer just lays out the headers
+ * around the given bytes. Entries are written in the order of the calls, the central directory
+ * is written on {@link #close()}. Zip64 is not supported, which is fine for jars and
+ * for distributions up to 4 GB.
+ */
+@SuppressWarnings("checkstyle:MagicNumber")
+public final class ZipWriter implements Closeable {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int FLAG_UTF8 = 1 << 11;
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int MADE_BY_UNIX = 3 << 8;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final List<CentralRecord> centralDirectory = new ArrayList<>();
+    private long position;
+
+    /**
+     * Creates the writer.
+     *
+     * @param output the stream to write to, closed by {@link #close()}
+     */
+    public ZipWriter(final OutputStream output) {
+        this(output, 0);
+    }
+
+
+    /**
+     * Creates the writer appending to an archive, which already contains entries up to the
+     * given position. The existing entries must be registered by {@link #keepEntry(RawZipEntry)}
+     * to be listed in the central directory.
+     *
+     * @param output the stream to write to, starting at the {@code startPosition} of the archive,
+     *            closed by {@link #close()}
+     * @param startPosition offset in the archive where the output starts
+     */
+    public ZipWriter(final OutputStream output, final long startPosition) {
+        this.out = new BufferedOutputStream(output, BUFFER_SIZE);
+        this.position = startPosition;
+    }
+
+
+    /**
+     * Writes the entry.
+     *
+     * @param entry the entry header, sizes and the checksum must match the data
+     * @param data the entry data, compressed as declared by {@link RawZipEntry#getMethod()}
+     * @throws IOException if the write fails or the archive would need zip64
+     */
+    public void writeEntry(final RawZipEntry entry, final byte[] data) throws IOException {
+        if (data.length != entry.getCompressedSize()) {
+            throw new IOException("Entry " + entry.getName() + " declares " + entry.getCompressedSize()
+                + " bytes but has " + data.length);
+        }
+        writeLocalHeader(entry);
+        write(data, 0, data.length);
+    }
+
+
+    /**
+     * Writes the entry header and returns a stream for its data.
+     * The caller must write exactly {@link RawZipEntry#getCompressedSize()} bytes before
+     * writing another entry and must not close the returned stream.
+     *
+     * @param entry the entry header, sizes and the checksum must match the data
+     * @return stream for the entry data, already compressed
+     * @throws IOException if the write fails or the archive would need zip64
+     */
+    public OutputStream startEntry(final RawZipEntry entry) throws IOException {
+        writeLocalHeader(entry);
+        return new EntryOutputStream();
+    }
+
+
+    /**
+     * Copies the entry from another archive without decompression.
+     *
+     * @param reader the source archive
+     * @param entry the entry of the source archive
+     * @throws IOException if the copy fails or the archive would need zip64
+     */
+    public void copyEntry(final ZipReader reader, final RawZipEntry entry) throws IOException {
+        reader.copyRaw(entry, startEntry(entry));
+    }
+
+
+    /**
+     * Adds an entry already present in the archive before the start position to the central directory.
+     *
+     * @param entry the entry, {@link RawZipEntry#getLocalHeaderOffset()} must point to its local header
+     * @throws IOException if the archive would need zip64
+     */
+    public void keepEntry(final RawZipEntry entry) throws IOException {
+        if (centralDirectory.size() >= MAX_ENTRIES) {
+            throw new IOException("Too many entries, zip64 archives are not supported");
+        }
+        final int version = entry.getMethod() == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+        centralDirectory.add(new CentralRecord(entry, entry.getName().getBytes(StandardCharsets.UTF_8), version,
+            entry.getLocalHeaderOffset()));
+    }
+
+
+    /**
+     * Get the number of bytes written so far.
+     *
+     * @return the current offset in the archive
+     */
+    public long getPosition() {
+        return position;
+    }
+
+
+    private void writeLocalHeader(final RawZipEntry entry) throws IOException {
+        if (centralDirectory.size() >= MAX_ENTRIES) {
+            throw new IOException("Too many entries, zip64 archives are not supported");
+        }
+        if (entry.getCompressedSize() > MAX_SIZE || entry.getSize() > MAX_SIZE || position > MAX_SIZE) {
+            throw new IOException("Entry " + entry.getName() + " is too large, zip64 archives are not supported");
+        }
+        final byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+        final byte[] extra = entry.getExtra();
+        final int version = entry.getMethod() == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+        final ByteBuffer header = buffer(LOCAL_HEADER_SIZE + name.length + extra.length);
+        header.putInt(LOCAL_HEADER_SIGNATURE);
+        header.putShort((short) version);
+        header.putShort((short) FLAG_UTF8);
+        header.putShort((short) entry.getMethod());
+        header.putInt((int) entry.getDosTime());
+        header.putInt((int) entry.getCrc());
+        header.putInt((int) entry.getCompressedSize());
+        header.putInt((int) entry.getSize());
+        header.putShort((short) name.length);
+        header.putShort((short) extra.length);
+        header.put(name);
+        header.put(extra);
+        centralDirectory.add(new CentralRecord(entry, name, version, position));
+        write(header.array(), 0, header.position());
+    }
+
+
+    /**
+     * Writes the central directory and closes the underlying stream.
+     *
+     * @throws IOException if the write fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            final long start = position;
+            if (start > MAX_SIZE) {
+                throw new IOException("Archive is too large, zip64 archives are not supported");
+            }
+            for (final CentralRecord record : centralDirectory) {
+                final RawZipEntry entry = record.entry;
+                final byte[] extra = entry.getCentralExtra();
+                final ByteBuffer header = buffer(CENTRAL_HEADER_SIZE + record.name.length + extra.length);
+                header.putInt(CENTRAL_HEADER_SIGNATURE);
+                header.putShort((short) (MADE_BY_UNIX | record.version));
+                header.putShort((short) record.version);
+                header.putShort((short) FLAG_UTF8);
+                header.putShort((short) entry.getMethod());
+                header.putInt((int) entry.getDosTime());
+                header.putInt((int) entry.getCrc());
+                header.putInt((int) entry.getCompressedSize());
+                header.putInt((int) entry.getSize());
+                header.putShort((short) record.name.length);
+                header.putShort((short) extra.length);
+                // comment, disk number, internal attributes
+                header.putShort((short) 0);
+                header.putShort((short) 0);
+                header.putShort((short) 0);
+                header.putInt((int) entry.getExternalAttributes());
+                header.putInt((int) record.offset);
+                header.put(record.name);
+                header.put(extra);
+                write(header.array(), 0, header.position());
+            }
+            final ByteBuffer end = buffer(END_OF_CENTRAL_DIRECTORY_SIZE);
+            end.putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            end.putShort((short) 0);
+            end.putShort((short) 0);
+            end.putShort((short) centralDirectory.size());
+            end.putShort((short) centralDirectory.size());
+            end.putInt((int) (position - start));
+            end.putInt((int) start);
+            end.putShort((short) 0);
+            write(end.array(), 0, end.position());
+        } finally {
+            out.close();
+        }
+    }
+
+
+    private void write(final byte[] data, final int offset, final int length) throws IOException {
+        out.write(data, offset, length);
+        position += length;
+    }
+
+
+    private static ByteBuffer buffer(final int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+
+    /**
+     * Writes the entry data to the archive.
+     */
+    private final class EntryOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            ZipWriter.this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            ZipWriter.this.write(b, off, len);
+        }
+    }
+
+
+    /**
+     * What the central directory needs to know about a written entry.
+     */
+    private static final class CentralRecord {
+
+        private final RawZipEntry entry;
+        private final byte[] name;
+        private final int version;
+        private final long offset;
+
+        CentralRecord(final RawZipEntry rawEntry, final byte[] encodedName, final int versionNeeded,
+            final long localHeaderOffset) {
+            this.entry = rawEntry;
+            this.name = encodedName;
+            this.version = versionNeeded;
+            this.offset = localHeaderOffset;
+        }
+    }
+}